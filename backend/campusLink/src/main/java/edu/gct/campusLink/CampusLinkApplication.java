@@ -2,8 +2,10 @@ package edu.gct.campusLink;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class CampusLinkApplication {
 
 	public static void main(String[] args) {
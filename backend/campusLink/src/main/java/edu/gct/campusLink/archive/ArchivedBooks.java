@@ -0,0 +1,194 @@
+package edu.gct.campusLink.archive;
+
+import edu.gct.campusLink.bean.ArchivedBook;
+import edu.gct.campusLink.bean.Book;
+import edu.gct.campusLink.bean.Order;
+import edu.gct.campusLink.bean.Review;
+import edu.gct.campusLink.bean.Transaction;
+import edu.gct.campusLink.dao.ArchivedBookRepository;
+import edu.gct.campusLink.dao.OrderRepository;
+import edu.gct.campusLink.dao.TransactionRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Puts archived books back into order, transaction and review history.
+ *
+ * Those associations have no FK and ignore missing rows, so once a book has moved
+ * to books_archive it simply drops out of the loaded collection. The join tables
+ * still hold its id, which is enough to load it from the archive (one query per
+ * call, not per order) and append it as a detached, unavailable {@link Book}.
+ *
+ * Entities that need archived books are returned as detached copies; the loaded
+ * (managed) ones are never modified, so a later flush in the same session can't
+ * write the merged collections back.
+ */
+@Component
+public class ArchivedBooks {
+
+    private final ArchivedBookRepository archivedBookRepository;
+    private final OrderRepository orderRepository;
+    private final TransactionRepository transactionRepository;
+
+    public ArchivedBooks(ArchivedBookRepository archivedBookRepository,
+                         OrderRepository orderRepository,
+                         TransactionRepository transactionRepository) {
+        this.archivedBookRepository = archivedBookRepository;
+        this.orderRepository = orderRepository;
+        this.transactionRepository = transactionRepository;
+    }
+
+    // An archived book by id, as a detached Book
+    public Optional<Book> find(Long bookId) {
+        return archivedBookRepository.findById(bookId).map(ArchivedBook::toBook);
+    }
+
+    // Archived books for these ids, as detached Books (ids not in the archive are skipped)
+    public List<Book> findAll(Collection<Long> bookIds) {
+        return archivedBookRepository.findWithOwnerByIdIn(bookIds).stream()
+                .map(ArchivedBook::toBook)
+                .collect(Collectors.toList());
+    }
+
+    public List<Order> restoreOrders(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return orders;
+        }
+        Map<Long, List<Book>> archived = load(orderRepository.findArchivedBookIds(ids(orders, Order::getId)));
+        if (archived.isEmpty()) {
+            return orders;
+        }
+        List<Order> restored = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            List<Book> books = archived.get(order.getId());
+            restored.add(books == null ? order : copyOf(order, merge(order.getBooks(), books)));
+        }
+        return restored;
+    }
+
+    public List<Transaction> restoreTransactions(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return transactions;
+        }
+        Map<Long, List<Book>> archived = load(transactionRepository.findArchivedBookIds(ids(transactions, Transaction::getId)));
+        if (archived.isEmpty()) {
+            return transactions;
+        }
+        List<Transaction> restored = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            List<Book> books = archived.get(transaction.getId());
+            restored.add(books == null ? transaction : copyOf(transaction, merge(transaction.getBooks(), books)));
+        }
+        return restored;
+    }
+
+    public List<Review> restoreReviews(List<Review> reviews) {
+        Set<Long> missing = reviews.stream()
+                .filter(review -> review.getBook() == null && review.getBookId() != null)
+                .map(Review::getBookId)
+                .collect(Collectors.toSet());
+        if (missing.isEmpty()) {
+            return reviews;
+        }
+        Map<Long, Book> books = archivedBookRepository.findWithOwnerByIdIn(missing).stream()
+                .collect(Collectors.toMap(ArchivedBook::getId, ArchivedBook::toBook));
+        List<Review> restored = new ArrayList<>(reviews.size());
+        for (Review review : reviews) {
+            Book book = review.getBook() == null && review.getBookId() != null ? books.get(review.getBookId()) : null;
+            restored.add(book == null ? review : copyOf(review, book));
+        }
+        return restored;
+    }
+
+    // --- helpers ---
+
+    private static <T> Set<Long> ids(Collection<T> items, Function<T, Long> id) {
+        Set<Long> ids = new HashSet<>();
+        for (T item : items) {
+            ids.add(id.apply(item));
+        }
+        return ids;
+    }
+
+    // (parentId, bookId) rows -> parentId -> archived books
+    private Map<Long, List<Book>> load(List<Object[]> pairs) {
+        if (pairs.isEmpty()) {
+            return Map.of();
+        }
+        Set<Long> bookIds = new HashSet<>();
+        for (Object[] pair : pairs) {
+            bookIds.add(((Number) pair[1]).longValue());
+        }
+        Map<Long, Book> books = archivedBookRepository.findWithOwnerByIdIn(bookIds).stream()
+                .collect(Collectors.toMap(ArchivedBook::getId, ArchivedBook::toBook));
+
+        Map<Long, List<Book>> byParent = new HashMap<>();
+        for (Object[] pair : pairs) {
+            Book book = books.get(((Number) pair[1]).longValue());
+            if (book != null) {
+                byParent.computeIfAbsent(((Number) pair[0]).longValue(), k -> new ArrayList<>()).add(book);
+            }
+        }
+        return byParent;
+    }
+
+    // Live books plus archived ones, in a new list
+    private static List<Book> merge(List<Book> live, List<Book> archived) {
+        List<Book> books = new ArrayList<>();
+        if (live != null) {
+            live.stream().filter(Objects::nonNull).forEach(books::add);
+        }
+        books.addAll(archived);
+        return books;
+    }
+
+    // --- detached copies carrying the merged history ---
+
+    private static Order copyOf(Order order, List<Book> books) {
+        Order copy = new Order();
+        copy.setId(order.getId());
+        copy.setBuyer(order.getBuyer());
+        copy.setSeller(order.getSeller());
+        copy.setBooks(books);
+        copy.setTotalPrice(order.getTotalPrice());
+        copy.setOrderTime(order.getOrderTime());
+        copy.setStatus(order.getStatus());
+        return copy;
+    }
+
+    private static Transaction copyOf(Transaction transaction, List<Book> books) {
+        Transaction copy = new Transaction();
+        copy.setId(transaction.getId());
+        copy.setBuyer(transaction.getBuyer());
+        copy.setSeller(transaction.getSeller());
+        copy.setBooks(books);
+        copy.setTotalPrice(transaction.getTotalPrice());
+        copy.setTime(transaction.getTime());
+        copy.setStatus(transaction.getStatus());
+        return copy;
+    }
+
+    private static Review copyOf(Review review, Book book) {
+        Review copy = new Review();
+        copy.setId(review.getId());
+        copy.setRating(review.getRating());
+        copy.setComment(review.getComment());
+        copy.setTimestamp(review.getTimestamp());
+        copy.setReviewer(review.getReviewer());
+        copy.setBook(book);
+        copy.setBookId(review.getBookId());
+        copy.setSeller(review.getSeller());
+        return copy;
+    }
+}
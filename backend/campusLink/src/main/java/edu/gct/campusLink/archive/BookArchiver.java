@@ -0,0 +1,152 @@
+package edu.gct.campusLink.archive;
+
+import edu.gct.campusLink.event.BookChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Moves sold books out of the hot {@code books} table into {@code books_archive}.
+ *
+ * Every listing query filters on is_available over {@code books}, so sold rows only
+ * cost index and buffer space there. A book sold more than {@code app.archive.sold-after-days}
+ * ago is copied to the archive and deleted in chunks, one short transaction per
+ * chunk, so the job never holds locks on a large range. Withdrawn (but unsold) books
+ * stay put: their owner can list them again.
+ */
+@Component
+public class BookArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(BookArchiver.class);
+
+    // Columns shared by books and books_archive
+    private static final String COLUMNS = "id, title, author, edition, quality, original_price, generated_price, " +
+            "description, type, book_added_time, book_image, book_image_grid, book_image_detail, user_id, latitude, " +
+            "longitude, duplicate_of, sold_time";
+
+    // Tables whose book_id must survive the move (history); they carry no FK to books
+    private static final List<String> HISTORY_TABLES = List.of("order_books", "transaction_books", "reviews");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int soldAfterDays;
+    private final int chunkSize;
+
+    private volatile boolean schemaChecked = false;
+
+    public BookArchiver(JdbcTemplate jdbcTemplate,
+                        PlatformTransactionManager transactionManager,
+                        ApplicationEventPublisher eventPublisher,
+                        @Value("${app.archive.sold-after-days:180}") int soldAfterDays,
+                        @Value("${app.archive.chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.soldAfterDays = soldAfterDays;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${app.archive.cron:0 0 4 * * *}")
+    public void archiveSoldBooks() {
+        long start = System.currentTimeMillis();
+        dropHistoryForeignKeys();
+        backfillSoldTime();
+
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(soldAfterDays));
+        int moved = 0;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT id FROM books WHERE is_available = false AND sold_time < ? ORDER BY id LIMIT ?",
+                    Long.class, cutoff, chunkSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            transactionTemplate.executeWithoutResult(status -> moveChunk(ids, now));
+            for (Long id : ids) {
+                eventPublisher.publishEvent(BookChangedEvent.deleted(this, id));
+            }
+            moved += ids.size();
+            if (ids.size() < chunkSize) {
+                break;
+            }
+        }
+        if (moved > 0) {
+            log.info("Archived {} sold books in {} ms", moved, System.currentTimeMillis() - start);
+        }
+    }
+
+    // --- One chunk: copy, clear live references, delete ---
+    private void moveChunk(List<Long> ids, Timestamp archivedAt) {
+        String in = placeholders(ids.size());
+        List<Object> args = new ArrayList<>(ids.size() + 1);
+        args.add(archivedAt);
+        args.addAll(ids);
+        jdbcTemplate.update("INSERT INTO books_archive (" + COLUMNS + ", archived_time) " +
+                "SELECT " + COLUMNS + ", ? FROM books WHERE id IN (" + in + ")", args.toArray());
+
+        Object[] idArgs = ids.toArray();
+        // A sold book can't be bought again, so carts and wishlists holding it are stale anyway
+        jdbcTemplate.update("DELETE FROM cart_items WHERE book_id IN (" + in + ")", idArgs);
+        jdbcTemplate.update("DELETE FROM wishlist WHERE book_id IN (" + in + ")", idArgs);
+        jdbcTemplate.update("DELETE FROM books WHERE id IN (" + in + ")", idArgs);
+    }
+
+    /**
+     * Books sold before sold_time existed: take the time from their order. Only orders
+     * older than the earliest sold_time on record count. A newer order would have set
+     * sold_time itself, so a null there means the book was relisted since (and maybe
+     * withdrawn), not that it is still sold.
+     */
+    private void backfillSoldTime() {
+        Timestamp firstRecorded = jdbcTemplate.queryForObject(
+                "SELECT LEAST(COALESCE((SELECT MIN(sold_time) FROM books), NOW()), " +
+                "COALESCE((SELECT MIN(sold_time) FROM books_archive), NOW()))", Timestamp.class);
+        int updated = jdbcTemplate.update("UPDATE books b " +
+                "JOIN order_books ob ON ob.book_id = b.id JOIN orders o ON o.id = ob.order_id " +
+                "SET b.sold_time = o.order_time " +
+                "WHERE b.sold_time IS NULL AND b.is_available = false AND o.order_time < ?", firstRecorded);
+        if (updated > 0) {
+            log.info("Backfilled sold_time for {} books", updated);
+        }
+    }
+
+    /**
+     * Schemas created before the archive existed have FKs from the history tables to
+     * books, which would block the delete. The mappings no longer declare them and
+     * ddl-auto=update never drops constraints, so drop them here, once.
+     */
+    private void dropHistoryForeignKeys() {
+        if (schemaChecked) {
+            return;
+        }
+        List<String[]> constraints = jdbcTemplate.query(
+                "SELECT TABLE_NAME, CONSTRAINT_NAME FROM information_schema.KEY_COLUMN_USAGE " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND REFERENCED_TABLE_NAME = 'books' AND COLUMN_NAME = 'book_id' " +
+                "AND TABLE_NAME IN (" + placeholders(HISTORY_TABLES.size()) + ")",
+                (rs, i) -> new String[]{rs.getString(1), rs.getString(2)},
+                HISTORY_TABLES.toArray());
+        for (String[] constraint : constraints) {
+            jdbcTemplate.execute("ALTER TABLE `" + constraint[0] + "` DROP FOREIGN KEY `" + constraint[1] + "`");
+            log.info("Dropped foreign key {} on {}", constraint[1], constraint[0]);
+        }
+        schemaChecked = true;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
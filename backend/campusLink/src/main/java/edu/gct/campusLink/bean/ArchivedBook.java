@@ -0,0 +1,112 @@
+package edu.gct.campusLink.bean;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import java.time.LocalDateTime;
+
+/**
+ * A sold book moved out of the hot {@code books} table by the archiver. Same columns
+ * (and the same id) as the original row, plus when it was archived. Read-only: rows
+ * are written in bulk by SQL, never through JPA.
+ */
+@Entity
+@Immutable
+@Table(name = "books_archive", indexes = {
+        @Index(name = "idx_books_archive_owner", columnList = "user_id")
+})
+public class ArchivedBook {
+
+    @Id
+    private Long id;
+
+    private String title;
+    private String author;
+    private String edition;
+    private String quality;
+
+    @Column(name = "original_price")
+    private double originalPrice;
+
+    @Column(name = "generated_price")
+    private double generatedPrice;
+
+    @Column(length = 1000)
+    private String description;
+
+    private String type;
+
+    @Column(name = "book_added_time")
+    private LocalDateTime bookAddedTime;
+
+    @Column(name = "book_image")
+    private String bookImage;
+
+    @Column(name = "book_image_grid")
+    private String bookImageGrid;
+
+    @Column(name = "book_image_detail")
+    private String bookImageDetail;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User owner;
+
+    private Double latitude;
+    private Double longitude;
+
+    @Column(name = "duplicate_of")
+    private Long duplicateOf;
+
+    @Column(name = "sold_time")
+    private LocalDateTime soldTime;
+
+    @Column(name = "archived_time")
+    private LocalDateTime archivedTime;
+
+    // Detached Book carrying this row's values, for history views that expect a Book
+    public Book toBook() {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthor(author);
+        book.setEdition(edition);
+        book.setQuality(quality);
+        book.setOriginalPrice(originalPrice);
+        book.setGeneratedPrice(generatedPrice);
+        book.setDescription(description);
+        book.setType(type);
+        book.setBookAddedTime(bookAddedTime);
+        book.setAvailable(false);
+        book.setBookImage(bookImage);
+        book.setBookImageGrid(bookImageGrid);
+        book.setBookImageDetail(bookImageDetail);
+        book.setOwner(owner);
+        book.setLatitude(latitude);
+        book.setLongitude(longitude);
+        book.setDuplicateOf(duplicateOf);
+        book.setSoldTime(soldTime);
+        return book;
+    }
+
+    // --- Getters ---
+
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getAuthor() { return author; }
+    public String getEdition() { return edition; }
+    public String getQuality() { return quality; }
+    public double getOriginalPrice() { return originalPrice; }
+    public double getGeneratedPrice() { return generatedPrice; }
+    public String getDescription() { return description; }
+    public String getType() { return type; }
+    public LocalDateTime getBookAddedTime() { return bookAddedTime; }
+    public String getBookImage() { return bookImage; }
+    public String getBookImageGrid() { return bookImageGrid; }
+    public String getBookImageDetail() { return bookImageDetail; }
+    public User getOwner() { return owner; }
+    public Double getLatitude() { return latitude; }
+    public Double getLongitude() { return longitude; }
+    public Long getDuplicateOf() { return duplicateOf; }
+    public LocalDateTime getSoldTime() { return soldTime; }
+    public LocalDateTime getArchivedTime() { return archivedTime; }
+}
@@ -2,10 +2,19 @@ package edu.gct.campusLink.bean;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDateTime;
 
+// Dynamic UPDATEs: a price change doesn't rewrite the description and the other untouched columns
 @Entity
-@Table(name = "books")
+@DynamicUpdate
+@Table(name = "books", indexes = {
+        // Backs the (bookAddedTime, id) keyset listings
+        @Index(name = "idx_books_available_added", columnList = "is_available, book_added_time, id"),
+        @Index(name = "idx_books_owner_added", columnList = "user_id, book_added_time, id"),
+        // Backs the archiver's scan for books sold before a cutoff
+        @Index(name = "idx_books_available_sold", columnList = "is_available, sold_time")
+})
 public class Book {
 
     @Id
@@ -39,10 +48,29 @@ public class Book {
     @Column(name = "book_image")
     private String bookImage;
 
+    // Resized copies of bookImage (null until generated, or if the upload wasn't a readable image)
+    @Column(name = "book_image_grid")
+    private String bookImageGrid;
+
+    @Column(name = "book_image_detail")
+    private String bookImageDetail;
+
     @ManyToOne
     @JoinColumn(name = "user_id")
     private User owner;
 
+    // Optional pickup location (WGS84 degrees)
+    private Double latitude;
+    private Double longitude;
+
+    // Set when the owner already had a near-identical listing up at upload time
+    @Column(name = "duplicate_of")
+    private Long duplicateOf;
+
+    // When the book went out in an order; sold books are moved to books_archive after a while
+    @Column(name = "sold_time")
+    private LocalDateTime soldTime;
+
     // --- Getters and Setters ---
 
     public Long getId() {
@@ -141,6 +169,22 @@ public class Book {
         this.bookImage = bookImage;
     }
 
+    public String getBookImageGrid() {
+        return bookImageGrid;
+    }
+
+    public void setBookImageGrid(String bookImageGrid) {
+        this.bookImageGrid = bookImageGrid;
+    }
+
+    public String getBookImageDetail() {
+        return bookImageDetail;
+    }
+
+    public void setBookImageDetail(String bookImageDetail) {
+        this.bookImageDetail = bookImageDetail;
+    }
+
     public User getOwner() {
         return owner;
     }
@@ -149,6 +193,38 @@ public class Book {
         this.owner = owner;
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public Long getDuplicateOf() {
+        return duplicateOf;
+    }
+
+    public void setDuplicateOf(Long duplicateOf) {
+        this.duplicateOf = duplicateOf;
+    }
+
+    public LocalDateTime getSoldTime() {
+        return soldTime;
+    }
+
+    public void setSoldTime(LocalDateTime soldTime) {
+        this.soldTime = soldTime;
+    }
+
     @Override
     public String toString() {
         return "Book{" +
@@ -2,6 +2,8 @@ package edu.gct.campusLink.bean;
 
 import edu.gct.campusLink.bean.OrderStatus;
 import jakarta.persistence.*;
+import org.hibernate.annotations.NotFound;
+import org.hibernate.annotations.NotFoundAction;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -23,13 +25,14 @@ public class Order {
     @JoinColumn(name = "seller_id")
     private User seller;
 
-    // Multiple books in this order
+    // Multiple books in this order (no FK on book_id: sold books are eventually archived, see ArchivedBooks)
     @ManyToMany
     @JoinTable(
             name = "order_books",
             joinColumns = @JoinColumn(name = "order_id"),
-            inverseJoinColumns = @JoinColumn(name = "book_id")
+            inverseJoinColumns = @JoinColumn(name = "book_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     )
+    @NotFound(action = NotFoundAction.IGNORE)
     private List<Book> books;
 
     private Double totalPrice;
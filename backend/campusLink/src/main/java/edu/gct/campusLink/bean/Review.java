@@ -2,6 +2,8 @@ package edu.gct.campusLink.bean;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.NotFound;
+import org.hibernate.annotations.NotFoundAction;
 import java.time.LocalDateTime;
 
 @Entity
@@ -21,11 +23,17 @@ public class Review {
     @JsonIgnore
     private User reviewer;
 
+    // No FK on book_id: sold books are eventually moved to books_archive (see ArchivedBooks)
     @ManyToOne
-    @JoinColumn(name = "book_id")
+    @JoinColumn(name = "book_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    @NotFound(action = NotFoundAction.IGNORE)
     @JsonIgnore
     private Book book;
 
+    // Raw book_id, still set when the book itself has been archived
+    @Column(name = "book_id", insertable = false, updatable = false)
+    private Long bookId;
+
     @ManyToOne
     @JoinColumn(name = "seller_id")
     private User seller;
@@ -49,6 +57,9 @@ public class Review {
     public Book getBook() { return book; }
     public void setBook(Book book) { this.book = book; }
 
+    public Long getBookId() { return bookId; }
+    public void setBookId(Long bookId) { this.bookId = bookId; }
+
     public User getSeller() { return seller; }
     public void setSeller(User seller) { this.seller = seller; }
 }
\ No newline at end of file
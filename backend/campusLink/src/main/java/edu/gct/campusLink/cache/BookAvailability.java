@@ -0,0 +1,147 @@
+package edu.gct.campusLink.cache;
+
+import edu.gct.campusLink.bean.Book;
+import edu.gct.campusLink.dao.BookRepository;
+import edu.gct.campusLink.event.BookChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Which books exist, which are available, and who owns them, indexed by book id.
+ *
+ * Two bitsets (exists, available) and an owner-id array, all atomic arrays, so the
+ * cart / wishlist / checkout paths read them without locking. Writes come from
+ * {@link BookChangedEvent}s and the startup load; they are serialised so the
+ * arrays can be grown by copying. Until the startup load finishes every answer
+ * is "unknown" and callers go to the database as before.
+ */
+@Component
+public class BookAvailability {
+
+    private static final Logger log = LoggerFactory.getLogger(BookAvailability.class);
+
+    public static final long NO_OWNER = 0;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final BookRepository bookRepository;
+
+    // Swapped for a larger copy (by a writer holding the monitor) when an id outgrows it
+    private volatile Tables tables = new Tables(INITIAL_CAPACITY);
+    private volatile boolean ready = false;
+
+    public BookAvailability(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<Object[]> rows = bookRepository.findAvailabilityRows();
+        synchronized (this) {
+            tables = new Tables(INITIAL_CAPACITY);
+            for (Object[] row : rows) {
+                Long ownerId = (Long) row[2];
+                setLocked((Long) row[0], true, (Boolean) row[1], ownerId != null ? ownerId : NO_OWNER);
+            }
+            ready = true;
+        }
+        log.info("Loaded availability of {} books", rows.size());
+    }
+
+    @EventListener
+    public synchronized void onBookChanged(BookChangedEvent event) {
+        if (event.getKind() == BookChangedEvent.Kind.DELETED) {
+            setLocked(event.getBookId(), false, false, NO_OWNER);
+            return;
+        }
+        Book book = event.getBook();
+        long ownerId = book.getOwner() != null && book.getOwner().getId() != null ? book.getOwner().getId() : NO_OWNER;
+        setLocked(book.getId(), true, book.isAvailable(), ownerId);
+    }
+
+    // The book exists and is up for grabs (false also when not known yet)
+    public boolean isKnownAvailable(long bookId) {
+        Tables a = tables;
+        return ready && a.test(a.exists, bookId) && a.test(a.available, bookId);
+    }
+
+    // The book exists but has been sold or withdrawn
+    public boolean isKnownUnavailable(long bookId) {
+        Tables a = tables;
+        return ready && a.test(a.exists, bookId) && !a.test(a.available, bookId);
+    }
+
+    // Owner of an existing book, or NO_OWNER when not known
+    public long ownerOf(long bookId) {
+        Tables a = tables;
+        if (!ready || !a.test(a.exists, bookId)) {
+            return NO_OWNER;
+        }
+        return a.owners.get((int) bookId);
+    }
+
+    // --- writes (synchronized on this) ---
+
+    private void setLocked(long bookId, boolean exists, boolean available, long ownerId) {
+        if (bookId < 0 || bookId >= Integer.MAX_VALUE) {
+            return;
+        }
+        int id = (int) bookId;
+        Tables a = tables;
+        if (id >= a.owners.length()) {
+            a = a.grow(id + 1);
+            tables = a;
+        }
+        // Owner first, so a reader that sees the exists bit also sees the owner
+        a.owners.set(id, ownerId);
+        a.assign(a.available, id, available);
+        a.assign(a.exists, id, exists);
+    }
+
+    private static final class Tables {
+        private final AtomicLongArray exists;
+        private final AtomicLongArray available;
+        private final AtomicLongArray owners;
+
+        private Tables(int capacity) {
+            exists = new AtomicLongArray((capacity + 63) >>> 6);
+            available = new AtomicLongArray((capacity + 63) >>> 6);
+            owners = new AtomicLongArray(capacity);
+        }
+
+        private boolean test(AtomicLongArray bits, long id) {
+            int word = (int) (id >>> 6);
+            return id >= 0 && word < bits.length() && (bits.get(word) & (1L << id)) != 0;
+        }
+
+        private void assign(AtomicLongArray bits, int id, boolean value) {
+            long mask = 1L << id;
+            if (value) {
+                bits.getAndUpdate(id >>> 6, w -> w | mask);
+            } else {
+                bits.getAndUpdate(id >>> 6, w -> w & ~mask);
+            }
+        }
+
+        private Tables grow(int minCapacity) {
+            int capacity = owners.length();
+            while (capacity < minCapacity) {
+                capacity = capacity > Integer.MAX_VALUE / 2 ? Integer.MAX_VALUE - 64 : capacity * 2;
+            }
+            Tables bigger = new Tables(capacity);
+            for (int i = 0; i < exists.length(); i++) {
+                bigger.exists.set(i, exists.get(i));
+                bigger.available.set(i, available.get(i));
+            }
+            for (int i = 0; i < owners.length(); i++) {
+                bigger.owners.set(i, owners.get(i));
+            }
+            return bigger;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package edu.gct.campusLink.cache;
+
+import edu.gct.campusLink.bean.Book;
+import edu.gct.campusLink.event.BookChangedEvent;
+import edu.gct.campusLink.event.UserChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache in front of BookRepository reads.
+ *
+ * Single books are invalidated one id at a time; cached listings are dropped on
+ * any catalog change, since an edit or availability flip can move a book in or
+ * out of every listing. A change to a user drops that user's books and all
+ * listings, since both carry owner details.
+ */
+@Component
+public class BookCache {
+
+    private final BoundedCache<Long, Book> books;
+    // Listing results (pages, lists) keyed by a caller-chosen string
+    private final BoundedCache<String, Object> listings;
+
+    public BookCache(@Value("${app.cache.books.max-size:5000}") int maxBooks,
+                     @Value("${app.cache.books.ttl-seconds:600}") long bookTtl,
+                     @Value("${app.cache.listings.max-size:200}") int maxListings,
+                     @Value("${app.cache.listings.ttl-seconds:60}") long listingTtl) {
+        this.books = new BoundedCache<>("books", maxBooks, bookTtl);
+        this.listings = new BoundedCache<>("bookListings", maxListings, listingTtl);
+    }
+
+    public Book getBook(Long id, Function<Long, Book> loader) {
+        return books.get(id, loader);
+    }
+
+    // Books for these ids: cached ones first, the rest with a single call to loader (then cached)
+    public Map<Long, Book> getBooks(Collection<Long> ids, Function<Collection<Long>, List<Book>> loader) {
+        Map<Long, Book> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            Book book = books.getIfPresent(id);
+            if (book != null) {
+                found.put(id, book);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            long before = books.generation();
+            for (Book book : loader.apply(missing)) {
+                // Not cached if any book was invalidated while the query ran: it may be one of these
+                books.putIfGeneration(book.getId(), book, before);
+                found.put(book.getId(), book);
+            }
+        }
+        return found;
+    }
+
+    // Callers must use one value type per key; keys are namespaced by the listing they cache
+    @SuppressWarnings("unchecked")
+    public <T> T getListing(String key, Supplier<T> loader) {
+        return (T) listings.get(key, k -> loader.get());
+    }
+
+    @EventListener
+    public void onBookChanged(BookChangedEvent event) {
+        books.invalidate(event.getBookId());
+        listings.invalidateAll();
+    }
+
+    // Cached books embed their owner (name, department, rating)
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        Long userId = event.getUserId();
+        books.invalidateIf(book -> book.getOwner() != null && userId.equals(book.getOwner().getId()));
+        listings.invalidateAll();
+    }
+
+    public List<Map<String, Object>> stats() {
+        return List.of(books.stats(), listings.stats());
+    }
+}
@@ -0,0 +1,144 @@
+package edu.gct.campusLink.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Small LRU cache with a per-entry time-to-live and hit/miss counters.
+ * Entries are evicted when the cache grows past maxSize (least recently used
+ * first) or when they are read after their TTL has passed.
+ */
+public class BoundedCache<K, V> {
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    // Bumped by every invalidation so a load that raced with one is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public BoundedCache(String name, int maxSize, long ttlSeconds) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                boolean evict = size() > BoundedCache.this.maxSize;
+                if (evict) evictions.incrementAndGet();
+                return evict;
+            }
+        };
+    }
+
+    // Cached value, or load it (outside the lock) and cache it; null results are not cached
+    public V get(K key, Function<K, V> loader) {
+        V cached = getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long before = generation.get();
+        V loaded = loader.apply(key);
+        if (loaded != null) {
+            synchronized (entries) {
+                if (generation.get() == before) {
+                    entries.put(key, new Entry<>(loaded, System.nanoTime() + ttlNanos));
+                }
+            }
+        }
+        return loaded;
+    }
+
+    public V getIfPresent(K key) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.expiresAt - System.nanoTime() > 0) {
+                hits.incrementAndGet();
+                return entry.value;
+            }
+            if (entry != null) {
+                entries.remove(key);
+                evictions.incrementAndGet();
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public void put(K key, V value) {
+        synchronized (entries) {
+            entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+        }
+    }
+
+    // Token for putIfGeneration: take it before starting a load
+    public long generation() {
+        return generation.get();
+    }
+
+    // Cache a value loaded by the caller, unless an invalidation happened since generation() returned expected
+    public void putIfGeneration(K key, V value, long expected) {
+        synchronized (entries) {
+            if (generation.get() == expected) {
+                entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+            }
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    // Drop every entry whose value matches, e.g. all books of one owner
+    public void invalidateIf(Predicate<V> matches) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.values().removeIf(entry -> matches.test(entry.value));
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long h = hits.get();
+        long m = misses.get();
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("name", name);
+        stats.put("size", size);
+        stats.put("maxSize", maxSize);
+        stats.put("hits", h);
+        stats.put("misses", m);
+        stats.put("evictions", evictions.get());
+        stats.put("hitRate", h + m == 0 ? 0.0 : (double) h / (h + m));
+        return stats;
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
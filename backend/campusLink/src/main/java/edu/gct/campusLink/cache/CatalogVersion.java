@@ -0,0 +1,39 @@
+package edu.gct.campusLink.cache;
+
+import edu.gct.campusLink.event.BookChangedEvent;
+import edu.gct.campusLink.event.UserChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonically increasing version of the book catalog, bumped on every
+ * BookChangedEvent and on every UserChangedEvent (books carry owner details). Seeded from the clock so ETags handed out before a
+ * restart can never match a newer catalog.
+ */
+@Component
+public class CatalogVersion {
+
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    @EventListener
+    public void onBookChanged(BookChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    // Versioned responses embed the owner (name, department, rating) of every book
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    public long current() {
+        return version.get();
+    }
+
+    // Weak validator: the same URL at the same catalog version yields equivalent JSON
+    public String etag() {
+        return "W/\"catalog-" + version.get() + "\"";
+    }
+}
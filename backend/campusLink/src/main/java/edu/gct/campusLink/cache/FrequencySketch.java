@@ -0,0 +1,67 @@
+package edu.gct.campusLink.cache;
+
+/**
+ * Count-min sketch of recent access frequency, for TinyLFU admission.
+ *
+ * Four rows of saturating counters (max 15). After sampleSize increments every
+ * counter is halved, so the estimate follows recent popularity rather than
+ * all-time totals. Not thread-safe; callers synchronize.
+ */
+class FrequencySketch {
+
+    private static final int ROWS = 4;
+    private static final int MAX_COUNT = 15;
+    private static final int[] SEEDS = {0x9E3779B1, 0x85EBCA77, 0xC2B2AE3D, 0x27D4EB2F};
+
+    private final byte[][] counters;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    // width is rounded up to a power of two
+    FrequencySketch(int width) {
+        int size = Integer.highestOneBit(Math.max(16, width - 1)) << 1;
+        this.counters = new byte[ROWS][size];
+        this.mask = size - 1;
+        this.sampleSize = 10 * size;
+    }
+
+    void increment(Object key) {
+        int hash = key.hashCode();
+        boolean added = false;
+        for (int row = 0; row < ROWS; row++) {
+            int index = index(hash, row);
+            if (counters[row][index] < MAX_COUNT) {
+                counters[row][index]++;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            halve();
+        }
+    }
+
+    int frequency(Object key) {
+        int hash = key.hashCode();
+        int min = MAX_COUNT;
+        for (int row = 0; row < ROWS; row++) {
+            min = Math.min(min, counters[row][index(hash, row)]);
+        }
+        return min;
+    }
+
+    private int index(int hash, int row) {
+        int h = hash * SEEDS[row];
+        h ^= h >>> 16;
+        return h & mask;
+    }
+
+    private void halve() {
+        for (byte[] row : counters) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] = (byte) (row[i] >>> 1);
+            }
+        }
+        additions /= 2;
+    }
+}
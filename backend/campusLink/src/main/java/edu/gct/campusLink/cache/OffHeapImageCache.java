@@ -0,0 +1,185 @@
+package edu.gct.campusLink.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hot image files held in direct (off-heap) buffers, bounded by total bytes.
+ *
+ * Entries are kept in LRU order. A new file only gets in if the sketch says it
+ * is read more often than the entries it would push out (TinyLFU). Without that
+ * check, a crawl over old listings would flush the homepage covers.
+ *
+ * Files are read straight into native memory with {@link FileChannel#read}, so
+ * neither loading nor serving copies an image onto the Java heap. Only files that
+ * are never rewritten in place belong here, so entries are never invalidated:
+ * content-addressed images and covers with their resized and WebP variants, and
+ * the older timestamp-named uploads. Every writer of those paths skips a file
+ * that already exists. A hit does no disk I/O, not even a stat.
+ */
+@Component
+public class OffHeapImageCache {
+
+    private final long maxBytes;
+    private final long maxEntryBytes;
+
+    private final LinkedHashMap<Path, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final FrequencySketch sketch;
+    private long usedBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong admissions = new AtomicLong();
+    private final AtomicLong rejections = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public OffHeapImageCache(@Value("${app.image-cache.max-bytes:67108864}") long maxBytes,
+                             @Value("${app.image-cache.max-entry-bytes:1048576}") long maxEntryBytes) {
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = Math.min(maxEntryBytes, maxBytes);
+        // Roughly one counter per 4 KB of capacity: a few per cacheable cover
+        this.sketch = new FrequencySketch((int) Math.min(1 << 20, Math.max(1024, maxBytes / 4096)));
+    }
+
+    // Cached copy of the file, or null; either way the read counts towards its frequency
+    public Entry get(Path file) {
+        Path key = file.toAbsolutePath().normalize();
+        synchronized (entries) {
+            sketch.increment(key);
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                hits.incrementAndGet();
+                return entry;
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Load a file that just missed, if TinyLFU lets it in. Returns the new entry,
+     * or null if it was turned away (the caller then serves from disk).
+     */
+    public Entry admit(Path file, long length, long lastModified) throws IOException {
+        if (length <= 0 || length > maxEntryBytes) {
+            return null;
+        }
+        Path key = file.toAbsolutePath().normalize();
+        synchronized (entries) {
+            Entry present = entries.get(key);
+            if (present != null) {
+                return present;
+            }
+            if (!worthAdmitting(key, length)) {
+                rejections.incrementAndGet();
+                return null;
+            }
+        }
+
+        // Read outside the lock; the buffer lives in native memory
+        ByteBuffer data = ByteBuffer.allocateDirect(Math.toIntExact(length));
+        try (FileChannel channel = FileChannel.open(key, StandardOpenOption.READ)) {
+            while (data.hasRemaining() && channel.read(data) >= 0) {
+                // keep reading
+            }
+        }
+        if (data.hasRemaining()) {
+            // Shorter than its stat said; don't cache a torn copy
+            return null;
+        }
+        data.flip();
+        Entry entry = new Entry(data.asReadOnlyBuffer(), length, lastModified);
+
+        synchronized (entries) {
+            Entry present = entries.get(key);
+            if (present != null) {
+                return present;
+            }
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (usedBytes + length > maxBytes && eldest.hasNext()) {
+                usedBytes -= eldest.next().length;
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+            entries.put(key, entry);
+            usedBytes += length;
+        }
+        admissions.incrementAndGet();
+        return entry;
+    }
+
+    public Map<String, Object> stats() {
+        long h = hits.get();
+        long m = misses.get();
+        int size;
+        long used;
+        synchronized (entries) {
+            size = entries.size();
+            used = usedBytes;
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("name", "images");
+        stats.put("size", size);
+        stats.put("usedBytes", used);
+        stats.put("maxBytes", maxBytes);
+        stats.put("hits", h);
+        stats.put("misses", m);
+        stats.put("admissions", admissions.get());
+        stats.put("rejections", rejections.get());
+        stats.put("evictions", evictions.get());
+        stats.put("hitRate", h + m == 0 ? 0.0 : (double) h / (h + m));
+        return stats;
+    }
+
+    // TinyLFU: free space is always fine; otherwise beat every LRU victim on frequency (caller holds the lock)
+    private boolean worthAdmitting(Path key, long length) {
+        long toFree = usedBytes + length - maxBytes;
+        if (toFree <= 0) {
+            return true;
+        }
+        int candidate = sketch.frequency(key);
+        for (Map.Entry<Path, Entry> e : entries.entrySet()) {
+            if (toFree <= 0) {
+                break;
+            }
+            if (sketch.frequency(e.getKey()) >= candidate) {
+                return false;
+            }
+            toFree -= e.getValue().length;
+        }
+        return toFree <= 0;
+    }
+
+    // An image's bytes (read-only, shared) with the file metadata needed for response headers
+    public static final class Entry {
+        private final ByteBuffer data;
+        private final long length;
+        private final long lastModified;
+
+        private Entry(ByteBuffer data, long length, long lastModified) {
+            this.data = data;
+            this.length = length;
+            this.lastModified = lastModified;
+        }
+
+        // A private view of bytes [start, end), safe to consume on one request thread
+        public ByteBuffer slice(long start, long end) {
+            ByteBuffer view = data.duplicate();
+            view.position((int) start).limit((int) end);
+            return view.slice();
+        }
+
+        public long getLength() { return length; }
+        public long getLastModified() { return lastModified; }
+    }
+}
@@ -3,6 +3,7 @@ package edu.gct.campusLink.config;
 import edu.gct.campusLink.security.JwtUserValidationFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -75,6 +76,7 @@ public class SecurityConfig {
                                 "/api/auth/verify-otp",
                                 "/uploads/**"
                         ).permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/images/view/**").permitAll()
                         .anyRequest().authenticated()
                 )
 
@@ -8,6 +8,7 @@ import edu.gct.campusLink.service.AdminService;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -54,4 +55,9 @@ public class AdminController {
     public void deleteUser(@PathVariable Long userId) {
         adminService.deleteUser(userId);
     }
+
+    @GetMapping("/cache-stats")
+    public List<Map<String, Object>> getCacheStats() {
+        return adminService.getCacheStats();
+    }
 }
\ No newline at end of file
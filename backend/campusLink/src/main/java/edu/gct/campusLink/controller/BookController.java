@@ -2,16 +2,41 @@ package edu.gct.campusLink.controller;
 
 import edu.gct.campusLink.bean.Book;
 import edu.gct.campusLink.bean.User;
+import edu.gct.campusLink.cache.CatalogVersion;
+import edu.gct.campusLink.dto.BookListingDTO;
+import edu.gct.campusLink.dto.BookPage;
+import edu.gct.campusLink.dto.CursorPage;
+import edu.gct.campusLink.dto.FacetedPage;
+import edu.gct.campusLink.dto.ImportResult;
+import edu.gct.campusLink.dto.InvalidRequestException;
+import edu.gct.campusLink.dto.PageCursor;
+import edu.gct.campusLink.dto.PriceSuggestion;
+import edu.gct.campusLink.dto.PublishStatus;
+import edu.gct.campusLink.recommend.SimilarBooks;
+import edu.gct.campusLink.recommend.TrendingBooks;
+import edu.gct.campusLink.search.BookFacetIndex;
+import edu.gct.campusLink.search.PrefixSuggester;
+import edu.gct.campusLink.service.BookImportService;
+import edu.gct.campusLink.service.BookPageService;
 import edu.gct.campusLink.service.BookService;
 import edu.gct.campusLink.service.UserService;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 @RestController
 @CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000", "http://localhost:5174"}, allowCredentials = "true")
@@ -19,19 +44,24 @@ import java.util.List;
 public class BookController {
 
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final BookPageService bookPageService;
     private final UserService userService;
+    private final CatalogVersion catalogVersion;
 
-    @Value("${upload.path}")
-    private String uploadPath;
-
-    public BookController(BookService bookService, UserService userService) {
+    public BookController(BookService bookService, BookImportService bookImportService,
+                          BookPageService bookPageService, UserService userService,
+                          CatalogVersion catalogVersion) {
         this.bookService = bookService;
+        this.bookImportService = bookImportService;
+        this.bookPageService = bookPageService;
         this.userService = userService;
+        this.catalogVersion = catalogVersion;
     }
 
-    // --- Upload book with all details and image ---
+    // --- Upload book with all details and image; 202 while it is published in the background ---
     @PostMapping(value = "/upload", consumes = "multipart/form-data")
-    public Book addBookWithImage(
+    public ResponseEntity<Book> addBookWithImage(
             @RequestParam String title,
             @RequestParam String author,
             @RequestParam(required = false) String edition,
@@ -41,6 +71,8 @@ public class BookController {
             @RequestParam(required = false) String description,
             @RequestParam String type, // sale, exchange, donate
             @RequestParam Long userId,
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude,
             @RequestParam(value = "image", required = false) MultipartFile image
     ) throws IOException {
 
@@ -50,27 +82,55 @@ public class BookController {
         book.setEdition(edition);
         book.setQuality(quality);
         book.setOriginalPrice(originalPrice);
-        book.setGeneratedPrice(generatedPrice != null ? generatedPrice : 0.0);
+        book.setGeneratedPrice(generatedPrice != null
+                ? generatedPrice
+                : bookService.suggestPrice(title, author, edition, quality, originalPrice, type).getPrice());
         book.setDescription(description);
         book.setType(type);
         book.setBookAddedTime(LocalDateTime.now());
         book.setAvailable(true);
+        book.setLatitude(latitude);
+        book.setLongitude(longitude);
 
         // Fetch and assign user
         User user = userService.getUserById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         book.setOwner(user);
 
-        // Handle image upload
-        if (image != null && !image.isEmpty()) {
-            String filename = System.currentTimeMillis() + "_" + image.getOriginalFilename();
-            File dest = new File(uploadPath + File.separator + filename);
-            dest.getParentFile().mkdirs();
-            image.transferTo(dest);
-            book.setBookImage("/uploads/" + filename);
-        }
+        Book saved = bookService.publishBook(book, image);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/books/" + saved.getId() + "/status"))
+                .body(saved);
+    }
+
+    // --- Publishing progress of a new listing ---
+    @GetMapping("/{id}/status")
+    public PublishStatus getPublishStatus(@PathVariable Long id) {
+        return bookService.getPublishStatus(id);
+    }
+
+    // --- Bulk import: CSV with a header row, or NDJSON (one book object per line) ---
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ImportResult importBooks(@RequestParam Long userId,
+                                    @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                    InputStream body) throws IOException {
+        User user = userService.getUserById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        BookImportService.Format format = contentType.toLowerCase().startsWith("text/csv")
+                ? BookImportService.Format.CSV
+                : BookImportService.Format.NDJSON;
+        return bookImportService.importBooks(user, body, format);
+    }
 
-        return bookService.addBook(book);
+    // --- Suggested price for a book about to be listed ---
+    @GetMapping("/price-suggestion")
+    public PriceSuggestion suggestPrice(@RequestParam String title,
+                                        @RequestParam(required = false) String author,
+                                        @RequestParam(required = false) String edition,
+                                        @RequestParam(required = false) String quality,
+                                        @RequestParam(defaultValue = "0") double originalPrice,
+                                        @RequestParam(defaultValue = "sale") String type) {
+        return bookService.suggestPrice(title, author, edition, quality, originalPrice, type);
     }
 
     // --- Update book details ---
@@ -79,6 +139,12 @@ public class BookController {
         return bookService.updateBook(id, book);
     }
 
+    // --- Change only the fields sent (JSON merge patch, RFC 7386) ---
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public Book patchBook(@PathVariable Long id, @RequestBody Map<String, Object> patch) {
+        return bookService.patchBook(id, patch);
+    }
+
     // --- Delete a book ---
     @DeleteMapping("/{id}")
     public void deleteBook(@PathVariable Long id) {
@@ -87,25 +153,123 @@ public class BookController {
 
     // --- Get book by ID ---
     @GetMapping("/{id}")
-    public Book getBook(@PathVariable Long id) {
-        return bookService.getBookById(id);
+    public ResponseEntity<Book> getBook(@PathVariable Long id, WebRequest request) {
+        bookService.recordView(id);
+        return versioned(request, () -> bookService.getBookById(id));
+    }
+
+    // --- Everything the detail page needs in one round trip ---
+    @GetMapping("/{id}/page")
+    public BookPage getBookPage(@PathVariable Long id, @RequestParam(required = false) Long userId) {
+        bookService.recordView(id);
+        return bookPageService.getBookPage(id, userId);
+    }
+
+    // --- Most viewed / wanted books right now ---
+    @GetMapping("/trending")
+    public List<BookListingDTO> getTrendingBooks(@RequestParam(defaultValue = "10") int limit) {
+        return bookService.getTrendingBooks(Math.max(1, Math.min(limit, TrendingBooks.TOP_N)));
+    }
+
+    // --- Several books by id in one round trip, in the order asked for (at most 100) ---
+    @PostMapping("/batch")
+    public List<Book> getBooksByIds(@RequestBody List<Long> ids) {
+        return bookService.getBooksByIds(ids);
     }
 
-    // --- Get all available books ---
+    // --- Books wanted by the same people as this one ---
+    @GetMapping("/{id}/similar")
+    public List<BookListingDTO> getSimilarBooks(@PathVariable Long id,
+                                                @RequestParam(defaultValue = "8") int limit) {
+        return bookService.getSimilarBooks(id, Math.max(1, Math.min(limit, SimilarBooks.TOP_K)));
+    }
+
+    // --- Get available books, newest first, one page at a time (or nearest first with near=lat,lon) ---
     @GetMapping
-    public List<Book> getAvailableBooks() {
-        return bookService.getAllAvailableBooks();
+    public ResponseEntity<CursorPage<BookListingDTO>> getAvailableBooks(@RequestParam(required = false) String cursor,
+                                                                        @RequestParam(required = false) Integer limit,
+                                                                        @RequestParam(required = false) String near,
+                                                                        @RequestParam(defaultValue = "2000") double radius,
+                                                                        WebRequest request) {
+        if (near != null && !near.isBlank()) {
+            double[] point = parsePoint(near);
+            return versioned(request, () -> bookService.getBooksNear(point[0], point[1], radius, cursor, PageCursor.clampLimit(limit)));
+        }
+        return versioned(request, () -> bookService.getAvailableBooks(cursor, PageCursor.clampLimit(limit)));
+    }
+
+    // --- Recently added books (homepage) ---
+    @GetMapping("/recent")
+    public List<BookListingDTO> getRecentBooks(@RequestParam(required = false) Integer limit) {
+        return bookService.getRecentBooks(PageCursor.clampLimit(limit));
     }
 
     // --- Search books by query ---
     @GetMapping("/search")
-    public List<Book> searchBooks(@RequestParam String q) {
-        return bookService.searchAvailableBooks(q);
+    public ResponseEntity<CursorPage<BookListingDTO>> searchBooks(@RequestParam String q,
+                                                                  @RequestParam(defaultValue = "false") boolean fuzzy,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  @RequestParam(required = false) Integer limit,
+                                                                  WebRequest request) {
+        return versioned(request, () -> bookService.searchAvailableBooks(q, fuzzy, cursor, PageCursor.clampLimit(limit)));
+    }
+
+    // --- Filter by type / quality / edition / price bucket, with facet counts ---
+    @GetMapping("/filter")
+    public FacetedPage<BookListingDTO> filterBooks(@RequestParam(required = false) List<String> type,
+                                         @RequestParam(required = false) List<String> quality,
+                                         @RequestParam(required = false) List<String> edition,
+                                         @RequestParam(required = false) List<String> price,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer limit) {
+        Map<String, List<String>> filters = new HashMap<>();
+        if (type != null) filters.put(BookFacetIndex.TYPE, type);
+        if (quality != null) filters.put(BookFacetIndex.QUALITY, quality);
+        if (edition != null) filters.put(BookFacetIndex.EDITION, edition);
+        if (price != null) filters.put(BookFacetIndex.PRICE, price);
+        return bookService.filterBooks(filters, cursor, PageCursor.clampLimit(limit));
+    }
+
+    // --- Typeahead suggestions for the search box ---
+    @GetMapping("/suggest")
+    public List<PrefixSuggester.Suggestion> suggest(@RequestParam String prefix,
+                                                    @RequestParam(defaultValue = "8") int limit) {
+        return bookService.suggest(prefix, limit);
     }
 
     // --- Get books added by a specific user ---
     @GetMapping("/user/{userId}")
-    public List<Book> getBooksByUser(@PathVariable Long userId) {
-        return bookService.getBooksByUser(userId);
+    public CursorPage<BookListingDTO> getBooksByUser(@PathVariable Long userId,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(required = false) Integer limit) {
+        return bookService.getBooksByUser(userId, cursor, PageCursor.clampLimit(limit));
+    }
+
+    // "lat,lon" in decimal degrees
+    private static double[] parsePoint(String near) {
+        String[] parts = near.split(",");
+        if (parts.length != 2) {
+            throw new InvalidRequestException("near must be lat,lon");
+        }
+        try {
+            return new double[]{Double.parseDouble(parts[0].trim()), Double.parseDouble(parts[1].trim())};
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("near must be lat,lon");
+        }
+    }
+
+    // Answer If-None-Match from the catalog version alone; only build the body when it changed
+    private <T> ResponseEntity<T> versioned(WebRequest request, Supplier<T> body) {
+        String etag = catalogVersion.etag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(body.get());
     }
 }
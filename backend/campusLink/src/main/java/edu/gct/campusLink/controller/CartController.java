@@ -47,6 +47,14 @@ public class CartController {
         return cartService.getCartByUser(userId);
     }
 
+    @GetMapping("/ids")
+    public List<Long> getCartBookIds(@RequestParam Long userId, HttpServletRequest req) {
+        if (!isAuthorized(userId, req)) {
+            throw new RuntimeException("Access denied");
+        }
+        return cartService.getCartBookIds(userId);
+    }
+
     @PostMapping("/add")
     public CartItem addToCart(@RequestParam Long userId,
                               @RequestParam Long bookId,
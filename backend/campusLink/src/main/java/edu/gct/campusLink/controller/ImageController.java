@@ -1,29 +1,75 @@
 package edu.gct.campusLink.controller;
 
+import edu.gct.campusLink.image.ImageSender;
+import edu.gct.campusLink.image.WebpVariants;
 import edu.gct.campusLink.service.ImageStorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
 @RestController
 @RequestMapping("/api/images")
 public class ImageController {
 
+    // Stored names are content hashes, so a URL's bytes never change
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
     private final ImageStorageService imageStorageService;
+    private final ImageSender imageSender;
+    private final WebpVariants webpVariants;
 
-    public ImageController(ImageStorageService imageStorageService) {
+    public ImageController(ImageStorageService imageStorageService,
+                           ImageSender imageSender,
+                           WebpVariants webpVariants) {
         this.imageStorageService = imageStorageService;
+        this.imageSender = imageSender;
+        this.webpVariants = webpVariants;
     }
 
+    // Returns the stored name ("{sha256}.{ext}") to use with /view/{folder}/{filename}
     @PostMapping("/upload/{folder}")
     public String uploadImage(@RequestParam("file") MultipartFile file,
                               @PathVariable String folder) {
         return imageStorageService.storeImage(file, folder);
     }
 
-    @GetMapping(value = "/view/{folder}/{filename}", produces = MediaType.IMAGE_JPEG_VALUE)
-    public byte[] viewImage(@PathVariable String folder,
-                            @PathVariable String filename) {
-        return imageStorageService.loadImage(filename, folder);
+    // From the hot-image cache or streamed from disk, with Range and conditional GET support.
+    // Clients that accept WebP get the WebP copy once it has been made. Unknown names are a 404.
+    @GetMapping("/view/{folder}/{filename}")
+    public void viewImage(@PathVariable String folder,
+                          @PathVariable String filename,
+                          HttpServletRequest request,
+                          HttpServletResponse response) throws IOException {
+        Path image = imageStorageService.locateImage(filename, folder);
+        if (image == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (!imageStorageService.isStoredName(filename)) {
+            // Pre-hash upload: the same name may be overwritten, so it is revalidated on every use
+            // and never given a WebP copy that could outlive it
+            MediaType contentType = MediaTypeFactory.getMediaType(filename).orElse(MediaType.APPLICATION_OCTET_STREAM);
+            imageSender.send(image, contentType, null, CacheControl.noCache(), request, response);
+            return;
+        }
+        if (webpVariants.negotiable(image)) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        Path served = webpVariants.select(image, request.getHeader(HttpHeaders.ACCEPT));
+        boolean webp = !served.equals(image);
+        MediaType contentType = webp ? WebpVariants.IMAGE_WEBP
+                : MediaTypeFactory.getMediaType(filename).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        // The content hash is the strongest validator there is; each representation gets its own
+        String etag = "\"" + filename.substring(0, filename.indexOf('.')) + (webp ? "-webp" : "") + "\"";
+        imageSender.send(served, contentType, etag, IMMUTABLE, request, response);
     }
-}
\ No newline at end of file
+}
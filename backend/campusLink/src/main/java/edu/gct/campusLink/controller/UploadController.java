@@ -0,0 +1,67 @@
+package edu.gct.campusLink.controller;
+
+import edu.gct.campusLink.image.ImageSender;
+import edu.gct.campusLink.image.WebpVariants;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+// Book cover uploads (originals, resized variants and WebP copies) under upload.path
+@RestController
+@RequestMapping("/uploads")
+public class UploadController {
+
+    // Covers published since content addressing: "{sha256}.{ext}" and its "_grid"/"_detail" variants
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("[0-9a-f]{64}(_grid|_detail)?\\.(jpg|png|gif|webp)");
+    // Those bytes never change, so browsers and proxies may keep them for good
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    private final Path uploadDir;
+    private final ImageSender imageSender;
+    private final WebpVariants webpVariants;
+
+    public UploadController(@Value("${upload.path}") String uploadPath,
+                            ImageSender imageSender,
+                            WebpVariants webpVariants) {
+        this.uploadDir = Paths.get(uploadPath).toAbsolutePath().normalize();
+        this.imageSender = imageSender;
+        this.webpVariants = webpVariants;
+    }
+
+    @GetMapping("/{filename}")
+    public void viewUpload(@PathVariable String filename,
+                           HttpServletRequest request,
+                           HttpServletResponse response) throws IOException {
+        // Top-level files only: no traversal, and nothing from the .staging directory
+        Path file = uploadDir.resolve(filename).normalize();
+        if (filename.startsWith(".") || !uploadDir.equals(file.getParent()) || !Files.isRegularFile(file)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (webpVariants.negotiable(file)) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        Path served = webpVariants.select(file, request.getHeader(HttpHeaders.ACCEPT));
+        MediaType contentType = !served.equals(file) ? WebpVariants.IMAGE_WEBP
+                : MediaTypeFactory.getMediaType(filename).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        // ETag comes from the served file, so the two representations never share one
+        // Older timestamp-named uploads are still revalidated on every use
+        CacheControl cacheControl = CONTENT_ADDRESSED.matcher(filename).matches() ? IMMUTABLE : CacheControl.noCache();
+        imageSender.send(served, contentType, null, cacheControl, request, response);
+    }
+}
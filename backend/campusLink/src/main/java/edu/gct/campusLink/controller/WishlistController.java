@@ -31,4 +31,10 @@ public class WishlistController {
     public List<Wishlist> getWishlist(@RequestParam Long userId) {
         return wishlistService.getWishlistByUser(userId);
     }
+
+    // Ids only, for pages that load the books through POST /api/books/batch
+    @GetMapping("/ids")
+    public List<Long> getWishlistBookIds(@RequestParam Long userId) {
+        return wishlistService.getWishlistBookIds(userId);
+    }
 }
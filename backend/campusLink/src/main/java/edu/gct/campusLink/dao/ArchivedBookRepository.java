@@ -0,0 +1,20 @@
+package edu.gct.campusLink.dao;
+
+import edu.gct.campusLink.bean.ArchivedBook;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ArchivedBookRepository extends JpaRepository<ArchivedBook, Long> {
+
+    // Archived books by id with their owner fetched in the same query
+    @Query("SELECT a FROM ArchivedBook a LEFT JOIN FETCH a.owner WHERE a.id IN :ids")
+    List<ArchivedBook> findWithOwnerByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Title, author, edition, quality and price of every archived (i.e. sold) book
+    @Query("SELECT a.title, a.author, a.edition, a.quality, a.generatedPrice FROM ArchivedBook a")
+    List<Object[]> findSoldBookPrices();
+}
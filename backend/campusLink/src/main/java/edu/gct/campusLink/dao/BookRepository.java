@@ -1,16 +1,31 @@
 package edu.gct.campusLink.dao;
 
 import edu.gct.campusLink.bean.Book;
+import edu.gct.campusLink.dto.BookListingDTO;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface BookRepository extends JpaRepository<Book, Long> {
 
-    // Get all available books
+    // Get all available books (owner fetched in the same query)
+    @Query("SELECT b FROM Book b LEFT JOIN FETCH b.owner WHERE b.isAvailable = true")
     List<Book> findByIsAvailableTrue();
 
+    // (id, isAvailable, ownerId) for every book; loads the in-memory availability bitmap
+    @Query("SELECT b.id, b.isAvailable, o.id FROM Book b LEFT JOIN b.owner o")
+    List<Object[]> findAvailabilityRows();
+
+    // Books by id with their owner fetched in the same query
+    @Query("SELECT b FROM Book b LEFT JOIN FETCH b.owner WHERE b.id IN :ids")
+    List<Book> findWithOwnerByIdIn(@Param("ids") Collection<Long> ids);
+
     // Search books (by title, author, edition, quality, type, or description)
     @Query("""
         SELECT b FROM Book b
@@ -29,11 +44,59 @@ public interface BookRepository extends JpaRepository<Book, Long> {
     @Query("SELECT b FROM Book b WHERE b.owner.id = :ownerId")
     List<Book> findByOwnerId(@Param("ownerId") Long ownerId);
 
-    // Filter by type (sale / exchange / donate)
-    @Query("SELECT b FROM Book b WHERE b.isAvailable = true AND LOWER(b.type) = LOWER(:type)")
-    List<Book> findByType(@Param("type") String type);
+    // Listing projection: book columns plus the owner's public fields, one query, no entity loading.
+    // Listings show the grid-sized cover when one has been generated.
+    String LISTING_SELECT = """
+        SELECT new edu.gct.campusLink.dto.BookListingDTO(
+            b.id, b.title, b.author, b.quality, b.type, b.originalPrice, b.generatedPrice,
+            COALESCE(b.bookImageGrid, b.bookImage), b.isAvailable, b.bookAddedTime, o.id, o.name, o.rating)
+        FROM Book b LEFT JOIN b.owner o
+    """;
+
+    // Find recently added books (first page of the available listing, for dashboard or homepage)
+    @Query(LISTING_SELECT + " WHERE b.isAvailable = true ORDER BY b.bookAddedTime DESC, b.id DESC")
+    List<BookListingDTO> findRecentListings(Pageable page);
+
+    // Keyset page of available books strictly after (time, id) in newest-first order
+    @Query(LISTING_SELECT + """
+        WHERE b.isAvailable = true AND (
+            b.bookAddedTime < :time OR (b.bookAddedTime = :time AND b.id < :id)
+        )
+        ORDER BY b.bookAddedTime DESC, b.id DESC
+    """)
+    List<BookListingDTO> findAvailableListingsAfter(@Param("time") LocalDateTime time,
+                                                    @Param("id") Long id,
+                                                    Pageable page);
+
+    // First keyset page of a user's books, newest first
+    @Query(LISTING_SELECT + " WHERE o.id = :ownerId ORDER BY b.bookAddedTime DESC, b.id DESC")
+    List<BookListingDTO> findListingsByOwner(@Param("ownerId") Long ownerId, Pageable page);
+
+    // Keyset page of a user's books strictly after (time, id)
+    @Query(LISTING_SELECT + """
+        WHERE o.id = :ownerId AND (
+            b.bookAddedTime < :time OR (b.bookAddedTime = :time AND b.id < :id)
+        )
+        ORDER BY b.bookAddedTime DESC, b.id DESC
+    """)
+    List<BookListingDTO> findListingsByOwnerAfter(@Param("ownerId") Long ownerId,
+                                                  @Param("time") LocalDateTime time,
+                                                  @Param("id") Long id,
+                                                  Pageable page);
 
-    // Find recently added books (optional, for dashboard or homepage)
-    @Query("SELECT b FROM Book b WHERE b.isAvailable = true ORDER BY b.bookAddedTime DESC")
-    List<Book> findRecentBooks();
+    // Listing rows for a set of ids (order is up to the caller)
+    @Query(LISTING_SELECT + " WHERE b.id IN :ids")
+    List<BookListingDTO> findListingsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Image columns only, written by the publishing pipeline's image stage
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE Book b SET b.bookImage = :image, b.bookImageGrid = :grid, b.bookImageDetail = :detail
+        WHERE b.id = :id
+    """)
+    int updateBookImages(@Param("id") Long id,
+                         @Param("image") String image,
+                         @Param("grid") String grid,
+                         @Param("detail") String detail);
 }
@@ -4,6 +4,8 @@ import edu.gct.campusLink.bean.CartItem;
 import edu.gct.campusLink.bean.User;
 import edu.gct.campusLink.bean.Book;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,9 +16,17 @@ public interface CartRepository extends JpaRepository<CartItem, Long> {
 
     List<CartItem> findByUserId(Long userId);
 
+    // Book ids only, for pages that just need to know what is in the cart
+    @Query("SELECT c.book.id FROM CartItem c WHERE c.user.id = :userId")
+    List<Long> findBookIdsByUserId(@Param("userId") Long userId);
+
     void deleteByUserIdAndBookId(Long userId, Long bookId);
 
     Optional<Object> findByUserIdAndBookId(Long userId, Long bookId);
 
     void deleteByBook(Book book);
+
+    // (userId, bookId) of every cart entry, for the similarity rebuild
+    @Query("SELECT c.user.id, c.book.id FROM CartItem c")
+    List<Object[]> findUserBookPairs();
 }
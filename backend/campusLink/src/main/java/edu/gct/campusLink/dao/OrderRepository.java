@@ -3,8 +3,11 @@ package edu.gct.campusLink.dao;
 import edu.gct.campusLink.bean.Order;
 import edu.gct.campusLink.bean.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -19,4 +22,19 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      * Find all orders sold by a given seller.
      */
     List<Order> findBySeller(User seller);
+
+    /**
+     * (buyerId, bookId) for every book in every order, for the similarity rebuild.
+     */
+    @Query(value = "SELECT o.buyer_id, ob.book_id FROM orders o JOIN order_books ob ON ob.order_id = o.id",
+            nativeQuery = true)
+    List<Object[]> findBuyerBookPairs();
+
+    /**
+     * (orderId, bookId) for the books of these orders that now live in books_archive.
+     */
+    @Query(value = "SELECT ob.order_id, ob.book_id FROM order_books ob " +
+            "JOIN books_archive a ON a.id = ob.book_id WHERE ob.order_id IN (:orderIds)",
+            nativeQuery = true)
+    List<Object[]> findArchivedBookIds(@Param("orderIds") Collection<Long> orderIds);
 }
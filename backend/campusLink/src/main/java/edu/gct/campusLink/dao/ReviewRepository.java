@@ -2,10 +2,22 @@ package edu.gct.campusLink.dao;
 
 import edu.gct.campusLink.bean.Review;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
     List<Review> findByBookId(Long bookId);
     List<Review> findByReviewerId(Long reviewerId);
     List<Review> findBySellerId(Long sellerId);
+
+    List<Review> findTop5ByBookIdOrderByTimestampDesc(Long bookId);
+
+    // (count, average rating) of a book's reviews, as a single row
+    @Query("SELECT COUNT(r), AVG(r.rating) FROM Review r WHERE r.bookId = :bookId")
+    List<Object[]> summarizeByBookId(@Param("bookId") Long bookId);
+
+    // (count, average rating) of the reviews left for a seller, as a single row
+    @Query("SELECT COUNT(r), AVG(r.rating) FROM Review r WHERE r.seller.id = :sellerId")
+    List<Object[]> summarizeBySellerId(@Param("sellerId") Long sellerId);
 }
\ No newline at end of file
@@ -1,8 +1,12 @@
 package edu.gct.campusLink.dao;
 
 import edu.gct.campusLink.bean.Transaction;
+import edu.gct.campusLink.bean.TransactionStatus;
 import edu.gct.campusLink.bean.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,4 +14,15 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     List<Transaction> findByBuyer(User buyer);
     List<Transaction> findBySeller(User seller);
 
+    // Title, author, edition, quality and price of every book sold in transactions with this status
+    @Query("SELECT b.title, b.author, b.edition, b.quality, b.generatedPrice " +
+            "FROM Transaction t JOIN t.books b WHERE t.status = :status")
+    List<Object[]> findSoldBookPrices(@Param("status") TransactionStatus status);
+
+    // (transactionId, bookId) for the books of these transactions that now live in books_archive
+    @Query(value = "SELECT tb.transaction_id, tb.book_id FROM transaction_books tb " +
+            "JOIN books_archive a ON a.id = tb.book_id WHERE tb.transaction_id IN (:transactionIds)",
+            nativeQuery = true)
+    List<Object[]> findArchivedBookIds(@Param("transactionIds") Collection<Long> transactionIds);
+
 }
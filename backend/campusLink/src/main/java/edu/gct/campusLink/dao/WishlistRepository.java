@@ -2,11 +2,26 @@ package edu.gct.campusLink.dao;
 
 import edu.gct.campusLink.bean.Wishlist;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface WishlistRepository extends JpaRepository<Wishlist, Long> {
     List<Wishlist> findByUserId(Long userId);
     void deleteByUserIdAndBookId(Long userId, Long bookId);
     boolean existsByUserIdAndBookId(Long userId, Long bookId);
+
+    // Book ids only; the books themselves come from the batch endpoint (and its cache)
+    @Query("SELECT w.book.id FROM Wishlist w WHERE w.user.id = :userId ORDER BY w.id")
+    List<Long> findBookIdsByUserId(@Param("userId") Long userId);
+
+    // Wishlist entries for any of the given books, with user and book loaded in the same query
+    @Query("SELECT w FROM Wishlist w JOIN FETCH w.user JOIN FETCH w.book WHERE w.book.id IN :bookIds")
+    List<Wishlist> findByBookIdIn(@Param("bookIds") Collection<Long> bookIds);
+
+    // (userId, bookId) of every wishlist entry, for the similarity rebuild
+    @Query("SELECT w.user.id, w.book.id FROM Wishlist w")
+    List<Object[]> findUserBookPairs();
 }
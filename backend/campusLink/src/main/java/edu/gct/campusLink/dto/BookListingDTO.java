@@ -0,0 +1,123 @@
+package edu.gct.campusLink.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import edu.gct.campusLink.bean.Book;
+import edu.gct.campusLink.bean.User;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * Slim row for book listings. Built straight from a JPQL constructor
+ * expression with the owner joined in the same query, and exposes only the
+ * owner's public fields.
+ */
+public class BookListingDTO {
+    private Long id;
+    private String title;
+    private String author;
+    private String quality;
+    private String type;
+    private double originalPrice;
+    private double generatedPrice;
+    private String bookImage;
+    private boolean available;
+    private LocalDateTime bookAddedTime;
+    private Owner owner;
+    // Only set on proximity listings
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double distanceMeters;
+
+    public BookListingDTO() {}
+
+    // Used by the listing queries in BookRepository
+    public BookListingDTO(Long id, String title, String author, String quality, String type,
+                          double originalPrice, double generatedPrice, String bookImage,
+                          boolean available, LocalDateTime bookAddedTime,
+                          Long ownerId, String ownerName, Double ownerRating) {
+        this.id = id;
+        this.title = title;
+        this.author = author;
+        this.quality = quality;
+        this.type = type;
+        this.originalPrice = originalPrice;
+        this.generatedPrice = generatedPrice;
+        this.bookImage = bookImage;
+        this.available = available;
+        this.bookAddedTime = bookAddedTime;
+        this.owner = ownerId != null ? new Owner(ownerId, ownerName, ownerRating) : null;
+    }
+
+    public BookListingDTO(Book book) {
+        this(book.getId(), book.getTitle(), book.getAuthor(), book.getQuality(), book.getType(),
+                book.getOriginalPrice(), book.getGeneratedPrice(),
+                book.getBookImageGrid() != null ? book.getBookImageGrid() : book.getBookImage(),
+                book.isAvailable(), book.getBookAddedTime(),
+                ownerField(book, User::getId), ownerField(book, User::getName), ownerField(book, User::getRating));
+    }
+
+    private static <T> T ownerField(Book book, Function<User, T> getter) {
+        return book.getOwner() != null ? getter.apply(book.getOwner()) : null;
+    }
+
+    // --- Getters and Setters ---
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getAuthor() { return author; }
+    public void setAuthor(String author) { this.author = author; }
+
+    public String getQuality() { return quality; }
+    public void setQuality(String quality) { this.quality = quality; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public double getOriginalPrice() { return originalPrice; }
+    public void setOriginalPrice(double originalPrice) { this.originalPrice = originalPrice; }
+
+    public double getGeneratedPrice() { return generatedPrice; }
+    public void setGeneratedPrice(double generatedPrice) { this.generatedPrice = generatedPrice; }
+
+    public String getBookImage() { return bookImage; }
+    public void setBookImage(String bookImage) { this.bookImage = bookImage; }
+
+    public boolean isAvailable() { return available; }
+    public void setAvailable(boolean available) { this.available = available; }
+
+    public LocalDateTime getBookAddedTime() { return bookAddedTime; }
+    public void setBookAddedTime(LocalDateTime bookAddedTime) { this.bookAddedTime = bookAddedTime; }
+
+    public Owner getOwner() { return owner; }
+    public void setOwner(Owner owner) { this.owner = owner; }
+
+    public Double getDistanceMeters() { return distanceMeters; }
+    public void setDistanceMeters(Double distanceMeters) { this.distanceMeters = distanceMeters; }
+
+    // Public part of the seller's profile
+    public static class Owner {
+        private Long id;
+        private String name;
+        private Double rating;
+
+        public Owner() {}
+
+        public Owner(Long id, String name, Double rating) {
+            this.id = id;
+            this.name = name;
+            this.rating = rating;
+        }
+
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+
+        public Double getRating() { return rating; }
+        public void setRating(Double rating) { this.rating = rating; }
+    }
+}
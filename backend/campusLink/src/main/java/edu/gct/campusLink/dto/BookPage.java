@@ -0,0 +1,101 @@
+package edu.gct.campusLink.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import edu.gct.campusLink.bean.Book;
+import edu.gct.campusLink.bean.Review;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Everything the book detail page shows, in one response. Parts other than the
+ * book itself are optional: a part that failed or timed out is null and listed in
+ * {@code missing}, so the page can render without it.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookPage {
+    private Book book;
+    private ReviewSummary reviews;
+    private SellerSummary seller;
+    // Caller's wishlist / cart state; null when no user was given
+    private Boolean inWishlist;
+    private Boolean inCart;
+    private List<String> missing = new ArrayList<>();
+
+    // --- Getters and Setters ---
+    public Book getBook() { return book; }
+    public void setBook(Book book) { this.book = book; }
+
+    public ReviewSummary getReviews() { return reviews; }
+    public void setReviews(ReviewSummary reviews) { this.reviews = reviews; }
+
+    public SellerSummary getSeller() { return seller; }
+    public void setSeller(SellerSummary seller) { this.seller = seller; }
+
+    public Boolean getInWishlist() { return inWishlist; }
+    public void setInWishlist(Boolean inWishlist) { this.inWishlist = inWishlist; }
+
+    public Boolean getInCart() { return inCart; }
+    public void setInCart(Boolean inCart) { this.inCart = inCart; }
+
+    public List<String> getMissing() { return missing; }
+    public void setMissing(List<String> missing) { this.missing = missing; }
+
+    // Review count and average for the book, plus the latest few
+    public static class ReviewSummary {
+        private long count;
+        private Double averageRating;
+        private List<Review> recent;
+
+        public ReviewSummary() {}
+
+        public ReviewSummary(long count, Double averageRating, List<Review> recent) {
+            this.count = count;
+            this.averageRating = averageRating;
+            this.recent = recent;
+        }
+
+        public long getCount() { return count; }
+        public void setCount(long count) { this.count = count; }
+
+        public Double getAverageRating() { return averageRating; }
+        public void setAverageRating(Double averageRating) { this.averageRating = averageRating; }
+
+        public List<Review> getRecent() { return recent; }
+        public void setRecent(List<Review> recent) { this.recent = recent; }
+    }
+
+    // The seller's profile rating and the reviews left for them
+    public static class SellerSummary {
+        private Long id;
+        private String name;
+        private Double rating;
+        private long reviewCount;
+        private Double averageReviewRating;
+
+        public SellerSummary() {}
+
+        public SellerSummary(Long id, String name, Double rating, long reviewCount, Double averageReviewRating) {
+            this.id = id;
+            this.name = name;
+            this.rating = rating;
+            this.reviewCount = reviewCount;
+            this.averageReviewRating = averageReviewRating;
+        }
+
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+
+        public Double getRating() { return rating; }
+        public void setRating(Double rating) { this.rating = rating; }
+
+        public long getReviewCount() { return reviewCount; }
+        public void setReviewCount(long reviewCount) { this.reviewCount = reviewCount; }
+
+        public Double getAverageReviewRating() { return averageReviewRating; }
+        public void setAverageReviewRating(Double averageReviewRating) { this.averageReviewRating = averageReviewRating; }
+    }
+}
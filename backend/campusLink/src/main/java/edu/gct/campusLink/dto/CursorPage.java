@@ -0,0 +1,33 @@
+package edu.gct.campusLink.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. Pass nextCursor back as the
+ * cursor parameter to get the following page; it is null on the last page.
+ */
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+    private int limit;
+
+    public CursorPage() {}
+
+    public CursorPage(List<T> items, String nextCursor, int limit) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.limit = limit;
+    }
+
+    // --- Getters and Setters ---
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public int getLimit() { return limit; }
+    public void setLimit(int limit) { this.limit = limit; }
+
+    public boolean isHasMore() { return nextCursor != null; }
+}
@@ -0,0 +1,29 @@
+package edu.gct.campusLink.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A keyset page of filtered results plus the total match count and,
+ * for every facet, how many results each of its values would give.
+ */
+public class FacetedPage<T> extends CursorPage<T> {
+    private int total;
+    private Map<String, Map<String, Integer>> facets;
+
+    public FacetedPage() {}
+
+    public FacetedPage(List<T> items, String nextCursor, int limit,
+                       int total, Map<String, Map<String, Integer>> facets) {
+        super(items, nextCursor, limit);
+        this.total = total;
+        this.facets = facets;
+    }
+
+    // --- Getters and Setters ---
+    public int getTotal() { return total; }
+    public void setTotal(int total) { this.total = total; }
+
+    public Map<String, Map<String, Integer>> getFacets() { return facets; }
+    public void setFacets(Map<String, Map<String, Integer>> facets) { this.facets = facets; }
+}
@@ -0,0 +1,44 @@
+package edu.gct.campusLink.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: how many rows went in, how many were rejected,
+ * and why (row numbers are 1-based data rows, not counting a CSV header).
+ */
+public class ImportResult {
+    private int imported;
+    private int failed;
+    private List<RowError> errors = new ArrayList<>();
+
+    public ImportResult() {}
+
+    // --- Getters and Setters ---
+    public int getImported() { return imported; }
+    public void setImported(int imported) { this.imported = imported; }
+
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+
+    public List<RowError> getErrors() { return errors; }
+    public void setErrors(List<RowError> errors) { this.errors = errors; }
+
+    public static class RowError {
+        private int row;
+        private String message;
+
+        public RowError() {}
+
+        public RowError(int row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+
+        public int getRow() { return row; }
+        public void setRow(int row) { this.row = row; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+}
@@ -0,0 +1,13 @@
+package edu.gct.campusLink.dto;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// A page cursor the client tampered with or carried over from a different listing
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCursorException extends InvalidRequestException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
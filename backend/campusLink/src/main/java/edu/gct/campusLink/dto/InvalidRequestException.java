@@ -0,0 +1,13 @@
+package edu.gct.campusLink.dto;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// A request parameter or body the client got wrong (bad value, wrong shape, over a limit)
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidRequestException extends IllegalArgumentException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,118 @@
+package edu.gct.campusLink.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque page cursor. Listings use a keyset cursor: the sort key of the last row
+ * on a page plus its id as tie-breaker, on (bookAddedTime, id). Ranked search
+ * results use a rank cursor instead: the catalog version whose ranking the first
+ * page came from and the position to continue at. Filter results are ordered by
+ * id alone, so their cursor is just the id. Proximity listings key on
+ * (distance, id). Relevance scores move with
+ * every listing change, so they make no stable key.
+ */
+public class PageCursor {
+
+    public static final int DEFAULT_LIMIT = 24;
+    public static final int MAX_LIMIT = 100;
+    private static final String RANK_PREFIX = "rank:";
+    private static final String DISTANCE_PREFIX = "m:";
+
+    private final String key;
+    private final long id;
+
+    private PageCursor(String key, long id) {
+        this.key = key;
+        this.id = id;
+    }
+
+    public static String of(LocalDateTime time, long id) {
+        return encode(time.toString(), id);
+    }
+
+    // Distance from the query point plus id, for proximity listings
+    public static String ofDistance(double meters, long id) {
+        return encode(DISTANCE_PREFIX + Long.toHexString(Double.doubleToLongBits(meters)), id);
+    }
+
+    // Id only, for listings ordered by id alone (filter results)
+    public static String ofId(long id) {
+        return encode("", id);
+    }
+
+    public static String ofRank(long catalogVersion, int position) {
+        return encode(RANK_PREFIX + catalogVersion, position);
+    }
+
+    // Null or blank means "first page"
+    public static PageCursor parse(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new PageCursor(raw.substring(0, sep), Long.parseLong(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+
+    // Clamp a requested page size into [1, MAX_LIMIT]
+    public static int clampLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    public LocalDateTime getTime() {
+        try {
+            return LocalDateTime.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new InvalidCursorException("Cursor is not a listing cursor");
+        }
+    }
+
+    // Exact distance bits: the same point yields the same distance on every page
+    public double getDistance() {
+        try {
+            if (key.startsWith(DISTANCE_PREFIX)) {
+                return Double.longBitsToDouble(Long.parseUnsignedLong(key.substring(DISTANCE_PREFIX.length()), 16));
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new InvalidCursorException("Cursor is not a proximity cursor");
+    }
+
+    public long getRankVersion() {
+        try {
+            if (key.startsWith(RANK_PREFIX)) {
+                return Long.parseLong(key.substring(RANK_PREFIX.length()));
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new InvalidCursorException("Cursor is not a search cursor");
+    }
+
+    public int getRankPosition() {
+        if (id < 0 || id > Integer.MAX_VALUE) {
+            throw new InvalidCursorException("Cursor is not a search cursor");
+        }
+        return (int) id;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    private static String encode(String key, long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((key + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,35 @@
+package edu.gct.campusLink.dto;
+
+/**
+ * A suggested listing price and what it was derived from: the condition-based
+ * estimate from the original price, and the median of past sales of the same
+ * title (null when there is no sales history yet).
+ */
+public class PriceSuggestion {
+    private double price;
+    private double basePrice;
+    private Double marketPrice;
+    private long sampleCount;
+
+    public PriceSuggestion() {}
+
+    public PriceSuggestion(double price, double basePrice, Double marketPrice, long sampleCount) {
+        this.price = price;
+        this.basePrice = basePrice;
+        this.marketPrice = marketPrice;
+        this.sampleCount = sampleCount;
+    }
+
+    // --- Getters and Setters ---
+    public double getPrice() { return price; }
+    public void setPrice(double price) { this.price = price; }
+
+    public double getBasePrice() { return basePrice; }
+    public void setBasePrice(double basePrice) { this.basePrice = basePrice; }
+
+    public Double getMarketPrice() { return marketPrice; }
+    public void setMarketPrice(Double marketPrice) { this.marketPrice = marketPrice; }
+
+    public long getSampleCount() { return sampleCount; }
+    public void setSampleCount(long sampleCount) { this.sampleCount = sampleCount; }
+}
@@ -0,0 +1,44 @@
+package edu.gct.campusLink.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+/**
+ * Where a newly uploaded listing is in the publishing pipeline. Updated by the
+ * pipeline's worker threads and read by the status endpoint.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PublishStatus {
+
+    public enum Stage { QUEUED, PROCESSING_IMAGE, INDEXING, NOTIFYING, PUBLISHED, FAILED }
+
+    private final Long bookId;
+    private volatile Stage stage;
+    // Set when a stage went wrong; an image failure still lets the listing publish
+    private volatile String error;
+    private volatile LocalDateTime updatedAt = LocalDateTime.now();
+
+    public PublishStatus(Long bookId, Stage stage) {
+        this.bookId = bookId;
+        this.stage = stage;
+    }
+
+    public void moveTo(Stage stage) {
+        this.stage = stage;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void fail(Stage stage, String error) {
+        this.error = error;
+        moveTo(stage);
+    }
+
+    public Long getBookId() { return bookId; }
+
+    public Stage getStage() { return stage; }
+
+    public String getError() { return error; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
@@ -0,0 +1,44 @@
+package edu.gct.campusLink.event;
+
+import edu.gct.campusLink.bean.Book;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published whenever a book row is written or removed, so in-memory
+ * structures built over the catalog can keep themselves up to date.
+ */
+public class BookChangedEvent extends ApplicationEvent {
+
+    public enum Kind { SAVED, DELETED }
+
+    private final Kind kind;
+    private final Long bookId;
+    private final Book book;
+
+    private BookChangedEvent(Object source, Kind kind, Long bookId, Book book) {
+        super(source);
+        this.kind = kind;
+        this.bookId = bookId;
+        this.book = book;
+    }
+
+    public static BookChangedEvent saved(Object source, Book book) {
+        return new BookChangedEvent(source, Kind.SAVED, book.getId(), book);
+    }
+
+    public static BookChangedEvent deleted(Object source, Long bookId) {
+        return new BookChangedEvent(source, Kind.DELETED, bookId, null);
+    }
+
+    public Kind getKind() { return kind; }
+
+    public Long getBookId() { return bookId; }
+
+    // The saved state of the book; null for deletions
+    public Book getBook() { return book; }
+
+    // True when the book should be visible in listings after this change
+    public boolean isListed() {
+        return kind == Kind.SAVED && book.isAvailable();
+    }
+}
@@ -0,0 +1,35 @@
+package edu.gct.campusLink.event;
+
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+
+/**
+ * Published when a user shows interest in books (wishlist, cart, order), so
+ * recommendation and popularity structures can update without re-reading the tables.
+ */
+public class BookInterestEvent extends ApplicationEvent {
+
+    public enum Kind { WISHLISTED, CARTED, ORDERED }
+
+    private final Kind kind;
+    private final Long userId;
+    private final List<Long> bookIds;
+
+    public BookInterestEvent(Object source, Kind kind, Long userId, List<Long> bookIds) {
+        super(source);
+        this.kind = kind;
+        this.userId = userId;
+        this.bookIds = List.copyOf(bookIds);
+    }
+
+    public static BookInterestEvent of(Object source, Kind kind, Long userId, Long bookId) {
+        return new BookInterestEvent(source, kind, userId, List.of(bookId));
+    }
+
+    public Kind getKind() { return kind; }
+
+    public Long getUserId() { return userId; }
+
+    public List<Long> getBookIds() { return bookIds; }
+}
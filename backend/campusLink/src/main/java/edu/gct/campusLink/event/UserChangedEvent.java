@@ -0,0 +1,19 @@
+package edu.gct.campusLink.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published when a user's profile, role or reviews change, so anything that
+ * embeds the user as a book's owner (name, department, rating) can be refreshed.
+ */
+public class UserChangedEvent extends ApplicationEvent {
+
+    private final Long userId;
+
+    public UserChangedEvent(Object source, Long userId) {
+        super(source);
+        this.userId = userId;
+    }
+
+    public Long getUserId() { return userId; }
+}
@@ -0,0 +1,170 @@
+package edu.gct.campusLink.image;
+
+import edu.gct.campusLink.cache.OffHeapImageCache;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes an image file to the response without reading it onto the heap.
+ *
+ * Hot files are answered from {@link OffHeapImageCache} with no disk access. The
+ * rest are handed to Tomcat's sendfile support, so the kernel copies them straight
+ * to the socket. Other containers get {@link FileChannel#transferTo}, which copies
+ * in small fixed chunks. Either way a request costs the same memory whatever the
+ * file size.
+ *
+ * Conditional requests are answered from the ETag and Last-Modified. A single
+ * byte range gets a 206. Multi-range requests are served whole, which RFC 9110 allows.
+ */
+@Component
+public class ImageSender {
+
+    // Tomcat request attributes for sendfile (see org.apache.catalina.Globals)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // Raster formats a browser can only display; SVG and the rest can carry script
+    private static final Set<String> INLINE_TYPES = Set.of("image/jpeg", "image/png", "image/gif", "image/webp");
+
+    private final OffHeapImageCache cache;
+
+    public ImageSender(OffHeapImageCache cache) {
+        this.cache = cache;
+    }
+
+    // etag may be null, in which case one is derived from the file's size and modification time
+    public void send(Path file, MediaType contentType, String etag, CacheControl cacheControl,
+                     HttpServletRequest request, HttpServletResponse response) throws IOException {
+        OffHeapImageCache.Entry cached = cache.get(file);
+        long length = cached != null ? cached.getLength() : Files.size(file);
+        long lastModified = cached != null ? cached.getLastModified() : Files.getLastModifiedTime(file).toMillis();
+        if (etag == null) {
+            etag = "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(length) + "\"";
+        }
+
+        String cacheHeader = cacheControl.getHeaderValue();
+        if (cacheHeader != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheHeader);
+        }
+        // Sets ETag / Last-Modified, and a 304 when the client's copy is current
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(contentType.toString());
+        // Never rendered as anything but the declared type; anything other than a plain picture is a download
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        if (!INLINE_TYPES.contains(contentType.getType() + "/" + contentType.getSubtype())) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment");
+        }
+
+        long start = 0;
+        long end = length; // exclusive
+        HttpRange range = requestedRange(request, etag, lastModified);
+        if (range != null) {
+            if (!satisfiable(range, length)) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            start = range.getRangeStart(length);
+            end = range.getRangeEnd(length) + 1;
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+        }
+        response.setContentLengthLong(end - start);
+
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+        if (cached == null) {
+            cached = cache.admit(file, length, lastModified);
+        }
+        if (cached != null) {
+            // Direct buffer to the response, a few KB at a time
+            ByteBuffer bytes = cached.slice(start, end);
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            while (bytes.hasRemaining()) {
+                out.write(bytes);
+            }
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // The connector writes the file after the servlet returns
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position < end) {
+                position += channel.transferTo(position, end - position, out);
+            }
+        }
+    }
+
+    // The single range to serve, or null for the whole file
+    private static HttpRange requestedRange(HttpServletRequest request, String etag, long lastModified) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null || !rangeStillApplies(request.getHeader(HttpHeaders.IF_RANGE), etag, lastModified)) {
+            return null;
+        }
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(header);
+        } catch (IllegalArgumentException e) {
+            // Malformed Range headers are ignored
+            return null;
+        }
+        return ranges.size() == 1 ? ranges.get(0) : null;
+    }
+
+    // If-Range: only honour the Range when the client's validator still matches
+    private static boolean rangeStillApplies(String ifRange, String etag, long lastModified) {
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            long since = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .toInstant().toEpochMilli();
+            return lastModified / 1000 <= since / 1000;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private static boolean satisfiable(HttpRange range, long length) {
+        try {
+            return length > 0 && range.getRangeStart(length) < length;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package edu.gct.campusLink.image;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.FileAlreadyExistsException;
+import java.util.Iterator;
+
+/**
+ * Resized JPEG variants of an uploaded cover photo: a small one for listing grids
+ * and a medium one for the detail page. The original is kept as uploaded.
+ *
+ * Large photos are decoded with source subsampling, so a 12-megapixel upload is
+ * never fully inflated in memory. The rest of the reduction is done in halving
+ * steps, which keeps plain bilinear scaling sharp.
+ */
+public final class Thumbnailer {
+
+    // Longest side, in pixels
+    public static final int GRID_SIZE = 320;
+    public static final int DETAIL_SIZE = 1024;
+    private static final float JPEG_QUALITY = 0.82f;
+
+    private Thumbnailer() {}
+
+    // Paths of the written variants
+    public static final class Variants {
+        private final Path grid;
+        private final Path detail;
+
+        private Variants(Path grid, Path detail) {
+            this.grid = grid;
+            this.detail = detail;
+        }
+
+        public Path getGrid() { return grid; }
+        public Path getDetail() { return detail; }
+    }
+
+    /**
+     * Write {@code <name>_grid.jpg} and {@code <name>_detail.jpg} next to the original.
+     * Returns null if the file is not an image ImageIO can read.
+     */
+    public static Variants createVariants(Path original) throws IOException {
+        BufferedImage decoded = decode(original, DETAIL_SIZE);
+        if (decoded == null) {
+            return null;
+        }
+        BufferedImage detail = toRgb(scaleDown(decoded, DETAIL_SIZE));
+        BufferedImage grid = scaleDown(detail, GRID_SIZE);
+
+        Variants variants = variantsOf(original);
+        writeJpeg(detail, variants.getDetail());
+        writeJpeg(grid, variants.getGrid());
+        return variants;
+    }
+
+    // The variants written for this original earlier, or null if either is missing
+    public static Variants existingVariants(Path original) {
+        Variants variants = variantsOf(original);
+        return Files.isRegularFile(variants.getGrid()) && Files.isRegularFile(variants.getDetail()) ? variants : null;
+    }
+
+    private static Variants variantsOf(Path original) {
+        String base = baseName(original.getFileName().toString());
+        return new Variants(original.resolveSibling(base + "_grid.jpg"), original.resolveSibling(base + "_detail.jpg"));
+    }
+
+    // Decode at no less than twice the target size (subsampling in the decoder when it's much bigger)
+    private static BufferedImage decode(Path file, int targetSize) throws IOException {
+        // Closing an ImageInputStream leaves the stream under it open, so both are closed here
+        try (InputStream raw = Files.newInputStream(file);
+             ImageInputStream in = ImageIO.createImageInputStream(raw)) {
+            if (in == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, longest / (2 * targetSize));
+                if (step > 1) {
+                    param.setSourceSubsampling(step, step, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Fit within maxSize on the longest side; never enlarges
+    static BufferedImage scaleDown(BufferedImage image, int maxSize) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int longest = Math.max(width, height);
+        if (longest <= maxSize) {
+            return image;
+        }
+        double scale = (double) maxSize / longest;
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage current = image;
+        while (current.getWidth() != targetWidth || current.getHeight() != targetHeight) {
+            int nextWidth = Math.max(targetWidth, current.getWidth() / 2);
+            int nextHeight = Math.max(targetHeight, current.getHeight() / 2);
+            current = draw(current, nextWidth, nextHeight);
+        }
+        return current;
+    }
+
+    // JPEG has no alpha: flatten onto white
+    private static BufferedImage toRgb(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_RGB) {
+            return image;
+        }
+        return draw(image, image.getWidth(), image.getHeight());
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private static void writeJpeg(BufferedImage image, Path dest) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(JPEG_QUALITY);
+        param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+        // Own temp file: two listings of the same picture may be resized at once
+        Path tmp = Files.createTempFile(dest.getParent(), dest.getFileName().toString(), ".tmp");
+        try {
+            // Both streams are closed (and the file flushed) before the move below
+            try (OutputStream raw = Files.newOutputStream(tmp);
+                 ImageOutputStream out = ImageIO.createImageOutputStream(raw)) {
+                writer.setOutput(out);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            try {
+                Files.move(tmp, dest);
+            } catch (FileAlreadyExistsException e) {
+                // Written meanwhile from the same original: same bytes. A served file is never rewritten in place
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static String baseName(String filename) {
+        int dot = filename.lastIndexOf('.');
+        return dot > 0 ? filename.substring(0, dot) : filename;
+    }
+}
@@ -0,0 +1,174 @@
+package edu.gct.campusLink.image;
+
+import edu.gct.campusLink.cache.BoundedCache;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebP copies of JPEG/PNG images for clients that accept them.
+ *
+ * The copy is made lazily. The first request that could use it queues a
+ * transcode and gets the original, and later requests get {@code <file>.webp}
+ * from next to the original. Each file is transcoded at most once: in-flight and
+ * unhelpful conversions (no smaller than the original) are remembered.
+ *
+ * The JDK ships no WebP encoder; the webp-imageio plugin (see the pom) provides
+ * one. If its native library can't load on this platform, no writer registers and
+ * everything is served as stored.
+ */
+@Component
+public class WebpVariants {
+
+    private static final Logger log = LoggerFactory.getLogger(WebpVariants.class);
+
+    public static final MediaType IMAGE_WEBP = MediaType.parseMediaType("image/webp");
+    private static final Set<String> CONVERTIBLE = Set.of("jpg", "jpeg", "png");
+
+    private final boolean encoderAvailable;
+    private final ThreadPoolExecutor transcoder;
+    private final Set<Path> inFlight = ConcurrentHashMap.newKeySet();
+    // Files whose WebP copy failed or wasn't smaller; not retried while remembered
+    private final BoundedCache<Path, Boolean> skipped = new BoundedCache<>("webpSkipped", 10_000, 86_400);
+
+    public WebpVariants(@Value("${app.webp.workers:1}") int workers,
+                        @Value("${app.webp.queue-capacity:100}") int queueCapacity) {
+        this.encoderAvailable = ImageIO.getImageWritersByMIMEType(IMAGE_WEBP.toString()).hasNext();
+        // Full queue: drop the request, the next view of the image will ask again
+        this.transcoder = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "webp-transcode");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        if (!encoderAvailable) {
+            log.info("No ImageIO WebP writer installed; images are served in their stored format");
+        }
+    }
+
+    // True if the response for this image may depend on Accept (so caches need Vary: Accept)
+    public boolean negotiable(Path original) {
+        return encoderAvailable && CONVERTIBLE.contains(extensionOf(original));
+    }
+
+    // The WebP copy if the client takes WebP and one is ready; otherwise the original (queueing a copy)
+    public Path select(Path original, String accept) {
+        if (!negotiable(original) || !acceptsWebp(accept)) {
+            return original;
+        }
+        Path webp = variantOf(original);
+        if (Files.isRegularFile(webp)) {
+            return webp;
+        }
+        if (skipped.getIfPresent(original) == null && inFlight.add(original)) {
+            try {
+                transcoder.execute(() -> transcode(original, webp));
+            } catch (RejectedExecutionException e) {
+                inFlight.remove(original);
+            }
+        }
+        return original;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        transcoder.shutdownNow();
+    }
+
+    // Explicitly listed with q > 0; a bare */* doesn't count (browsers that support WebP name it)
+    static boolean acceptsWebp(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        try {
+            for (MediaType type : MediaType.parseMediaTypes(accept)) {
+                if ("image".equals(type.getType()) && "webp".equals(type.getSubtype()) && type.getQualityValue() > 0) {
+                    return true;
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        return false;
+    }
+
+    private void transcode(Path original, Path webp) {
+        Path tmp = webp.resolveSibling(webp.getFileName() + ".tmp");
+        try {
+            BufferedImage image = ImageIO.read(original.toFile());
+            if (image == null) {
+                skipped.put(original, Boolean.TRUE);
+                return;
+            }
+            Iterator<ImageWriter> writers = ImageIO.getImageWritersByMIMEType(IMAGE_WEBP.toString());
+            ImageWriter writer = writers.next();
+            // Closing the ImageOutputStream leaves the file stream under it open, so both are closed here
+            try (OutputStream raw = Files.newOutputStream(tmp);
+                 ImageOutputStream out = ImageIO.createImageOutputStream(raw)) {
+                writer.setOutput(out);
+                writer.write(null, new IIOImage(image, null, null), writer.getDefaultWriteParam());
+            } finally {
+                writer.dispose();
+            }
+            if (Files.size(tmp) >= Files.size(original)) {
+                // No saving; keep serving the original
+                skipped.put(original, Boolean.TRUE);
+                return;
+            }
+            try {
+                // Never replaces a copy already there: cached and served files are not rewritten in place
+                Files.move(tmp, webp);
+            } catch (FileAlreadyExistsException e) {
+                // Made meanwhile (by another instance); that one is kept
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not transcode {} to WebP", original, e);
+            skipped.put(original, Boolean.TRUE);
+        } finally {
+            deleteQuietly(tmp);
+            inFlight.remove(original);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // A stray .tmp is overwritten by the next attempt
+        }
+    }
+
+    // photo.jpg -> photo.jpg.webp, so originals that differ only by extension never share a copy
+    private static Path variantOf(Path original) {
+        return original.resolveSibling(original.getFileName() + ".webp");
+    }
+
+    private static String extensionOf(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? "" : name.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,105 @@
+package edu.gct.campusLink.pricing;
+
+import java.util.Arrays;
+
+/**
+ * Streaming quantile estimate using the P-square algorithm (Jain and Chlamtac):
+ * five markers whose heights are nudged with a piecewise-parabolic fit as
+ * observations arrive. Constant memory and O(1) per update. Until five
+ * values have been seen the exact quantile of those values is returned.
+ * Not thread-safe.
+ */
+public class P2Quantile {
+
+    private final double p;
+    // Marker heights, actual positions and desired positions
+    private final double[] q = new double[5];
+    private final double[] n = new double[5];
+    private final double[] desired = new double[5];
+    private final double[] increments;
+    private long count;
+
+    public P2Quantile(double p) {
+        if (p <= 0 || p >= 1) {
+            throw new IllegalArgumentException("Quantile must be in (0, 1): " + p);
+        }
+        this.p = p;
+        this.increments = new double[]{0, p / 2, p, (1 + p) / 2, 1};
+    }
+
+    public void add(double x) {
+        if (count < 5) {
+            q[(int) count++] = x;
+            if (count == 5) {
+                Arrays.sort(q);
+                for (int i = 0; i < 5; i++) {
+                    n[i] = i + 1;
+                }
+                desired[0] = 1;
+                desired[1] = 1 + 2 * p;
+                desired[2] = 1 + 4 * p;
+                desired[3] = 3 + 2 * p;
+                desired[4] = 5;
+            }
+            return;
+        }
+        count++;
+
+        // Cell the observation falls into, stretching the extremes if needed
+        int k;
+        if (x < q[0]) {
+            q[0] = x;
+            k = 0;
+        } else if (x >= q[4]) {
+            q[4] = Math.max(q[4], x);
+            k = 3;
+        } else {
+            k = 0;
+            while (x >= q[k + 1]) k++;
+        }
+        for (int i = k + 1; i < 5; i++) {
+            n[i]++;
+        }
+        for (int i = 0; i < 5; i++) {
+            desired[i] += increments[i];
+        }
+
+        // Move the three middle markers towards their desired positions
+        for (int i = 1; i <= 3; i++) {
+            double d = desired[i] - n[i];
+            if ((d >= 1 && n[i + 1] - n[i] > 1) || (d <= -1 && n[i - 1] - n[i] < -1)) {
+                int step = d > 0 ? 1 : -1;
+                double candidate = parabolic(i, step);
+                q[i] = q[i - 1] < candidate && candidate < q[i + 1] ? candidate : linear(i, step);
+                n[i] += step;
+            }
+        }
+    }
+
+    public long count() {
+        return count;
+    }
+
+    // Current estimate; NaN before the first observation
+    public double value() {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (count < 5) {
+            double[] seen = Arrays.copyOf(q, (int) count);
+            Arrays.sort(seen);
+            return seen[(int) Math.min(count - 1, Math.round(p * (count - 1)))];
+        }
+        return q[2];
+    }
+
+    private double parabolic(int i, int d) {
+        return q[i] + d / (n[i + 1] - n[i - 1])
+                * ((n[i] - n[i - 1] + d) * (q[i + 1] - q[i]) / (n[i + 1] - n[i])
+                + (n[i + 1] - n[i] - d) * (q[i] - q[i - 1]) / (n[i] - n[i - 1]));
+    }
+
+    private double linear(int i, int d) {
+        return q[i] + d * (q[i + d] - q[i]) / (n[i + d] - n[i]);
+    }
+}
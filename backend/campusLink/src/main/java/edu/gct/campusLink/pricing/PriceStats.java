@@ -0,0 +1,30 @@
+package edu.gct.campusLink.pricing;
+
+/**
+ * Running count, mean and median of the prices a title has sold for.
+ * Updated in place as sales complete; every read is O(1).
+ */
+public class PriceStats {
+
+    private final P2Quantile median = new P2Quantile(0.5);
+    private long count;
+    private double mean;
+
+    public synchronized void add(double price) {
+        count++;
+        mean += (price - mean) / count;
+        median.add(price);
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized double getMean() {
+        return mean;
+    }
+
+    public synchronized double getMedian() {
+        return median.value();
+    }
+}
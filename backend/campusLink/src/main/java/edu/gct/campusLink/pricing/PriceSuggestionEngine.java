@@ -0,0 +1,125 @@
+package edu.gct.campusLink.pricing;
+
+import edu.gct.campusLink.bean.Book;
+import edu.gct.campusLink.bean.TransactionStatus;
+import edu.gct.campusLink.dao.ArchivedBookRepository;
+import edu.gct.campusLink.dao.TransactionRepository;
+import edu.gct.campusLink.dto.PriceSuggestion;
+import edu.gct.campusLink.search.TextAnalyzer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Suggests a listing price from the original price and condition, pulled towards
+ * what the same title has actually sold for.
+ *
+ * Sold prices are kept as per-title (and per-title-and-edition) running
+ * aggregates, normalised to an "as new" price by dividing out the condition
+ * factor, so a suggestion is a couple of map lookups. The aggregates are filled
+ * once from completed transactions at startup and then fed by
+ * {@link #recordSale(Book)} as transactions complete.
+ */
+@Component
+public class PriceSuggestionEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceSuggestionEngine.class);
+
+    // Sales needed before the edition-specific figures are preferred over the whole title's
+    private static final int MIN_EDITION_SAMPLES = 3;
+    // Weight of the condition-based estimate, in sales: with this many sales the two count equally
+    private static final double BASE_WEIGHT = 3.0;
+
+    private final Map<String, PriceStats> byTitle = new ConcurrentHashMap<>();
+    private final Map<String, PriceStats> byEdition = new ConcurrentHashMap<>();
+    private final TransactionRepository transactionRepository;
+    private final ArchivedBookRepository archivedBookRepository;
+
+    public PriceSuggestionEngine(TransactionRepository transactionRepository,
+                                 ArchivedBookRepository archivedBookRepository) {
+        this.transactionRepository = transactionRepository;
+        this.archivedBookRepository = archivedBookRepository;
+    }
+
+    // --- One pass over completed sales to seed the aggregates ---
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        // Books still in the hot table, then those already moved to the archive (all of which were sold)
+        List<Object[]> sold = new ArrayList<>(transactionRepository.findSoldBookPrices(TransactionStatus.COMPLETED));
+        sold.addAll(archivedBookRepository.findSoldBookPrices());
+        for (Object[] row : sold) {
+            record((String) row[0], (String) row[1], (String) row[2], (String) row[3], ((Number) row[4]).doubleValue());
+        }
+        log.info("Seeded price statistics from {} sold books ({} titles)", sold.size(), byTitle.size());
+    }
+
+    // Fold a completed sale into the aggregates
+    public void recordSale(Book book) {
+        record(book.getTitle(), book.getAuthor(), book.getEdition(), book.getQuality(), book.getGeneratedPrice());
+    }
+
+    public PriceSuggestion suggest(String title, String author, String edition, String quality,
+                                   double originalPrice, String type) {
+        if ("donate".equalsIgnoreCase(type)) {
+            return new PriceSuggestion(0, 0, null, 0);
+        }
+        double factor = qualityFactor(quality);
+        double base = Math.max(0, originalPrice) * factor;
+
+        String titleKey = titleKey(title, author);
+        PriceStats stats = byEdition.get(editionKey(titleKey, edition));
+        if (stats == null || stats.getCount() < MIN_EDITION_SAMPLES) {
+            stats = byTitle.get(titleKey);
+        }
+        if (stats == null || stats.getCount() == 0) {
+            return new PriceSuggestion(Math.round(base), Math.round(base), null, 0);
+        }
+
+        long samples = stats.getCount();
+        double market = stats.getMedian() * factor;
+        double price = base > 0
+                ? (samples * market + BASE_WEIGHT * base) / (samples + BASE_WEIGHT)
+                : market;
+        if (originalPrice > 0) {
+            price = Math.min(price, originalPrice);
+        }
+        return new PriceSuggestion(Math.round(price), Math.round(base), (double) Math.round(market), samples);
+    }
+
+    // Share of the original price a copy in this condition is worth (same scale as the upload form)
+    static double qualityFactor(String quality) {
+        if (quality == null) return 0.3;
+        switch (quality.trim().toLowerCase()) {
+            case "excellent": return 0.8;
+            case "good": return 0.6;
+            case "average": return 0.4;
+            default: return 0.3;
+        }
+    }
+
+    private void record(String title, String author, String edition, String quality, double price) {
+        // Donations and exchanges carry no price signal
+        if (price <= 0) {
+            return;
+        }
+        double asNew = price / qualityFactor(quality);
+        String titleKey = titleKey(title, author);
+        byTitle.computeIfAbsent(titleKey, k -> new PriceStats()).add(asNew);
+        byEdition.computeIfAbsent(editionKey(titleKey, edition), k -> new PriceStats()).add(asNew);
+    }
+
+    private static String titleKey(String title, String author) {
+        return String.join(" ", TextAnalyzer.tokenize(title)) + '|' + String.join(" ", TextAnalyzer.tokenize(author));
+    }
+
+    private static String editionKey(String titleKey, String edition) {
+        return titleKey + '|' + String.join(" ", TextAnalyzer.tokenize(edition));
+    }
+}
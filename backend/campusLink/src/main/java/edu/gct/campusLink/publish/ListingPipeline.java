@@ -0,0 +1,268 @@
+package edu.gct.campusLink.publish;
+
+import edu.gct.campusLink.bean.Book;
+import edu.gct.campusLink.cache.BoundedCache;
+import edu.gct.campusLink.dao.BookRepository;
+import edu.gct.campusLink.dto.PublishStatus;
+import edu.gct.campusLink.dto.PublishStatus.Stage;
+import edu.gct.campusLink.event.BookChangedEvent;
+import edu.gct.campusLink.image.ImageFiles;
+import edu.gct.campusLink.image.Thumbnailer;
+import edu.gct.campusLink.service.NotificationService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publishes a freshly saved listing in the background: image (moved into place and
+ * resized into grid and detail variants), then search structures, then wishlist
+ * notifications.
+ *
+ * Each stage has its own small pool and a bounded queue. When a queue is full, the
+ * thread handing work over runs it itself (caller-runs), so a burst of uploads
+ * slows the uploaders down instead of piling up unbounded work in memory.
+ *
+ * The upload request only stages the image file (hashed while it is copied, so
+ * it is named {@code {sha256}.{ext}}) and inserts the row. Identical pictures
+ * share one file and one set of variants, and a cover URL never changes content.
+ * The listing reaches the in-memory indexes once the INDEXING stage publishes its
+ * {@link BookChangedEvent}. If the process stops in between, the startup rebuild
+ * picks up the row.
+ */
+@Component
+public class ListingPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(ListingPipeline.class);
+
+    private final BookRepository bookRepository;
+    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Path uploadDir;
+    private final Path stagingDir;
+
+    private final ThreadPoolExecutor imageStage;
+    private final ThreadPoolExecutor indexStage;
+    private final ThreadPoolExecutor notifyStage;
+
+    // Recent listings only; anything older than this has long been published
+    private final BoundedCache<Long, PublishStatus> statuses = new BoundedCache<>("publishStatus", 10_000, 3600);
+
+    public ListingPipeline(BookRepository bookRepository,
+                           NotificationService notificationService,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${upload.path}") String uploadPath,
+                           @Value("${app.publish.workers:2}") int workers,
+                           @Value("${app.publish.queue-capacity:100}") int queueCapacity) {
+        this.bookRepository = bookRepository;
+        this.notificationService = notificationService;
+        this.eventPublisher = eventPublisher;
+        this.uploadDir = Paths.get(uploadPath);
+        this.stagingDir = uploadDir.resolve(".staging");
+        this.imageStage = stage("publish-image", workers, queueCapacity);
+        this.indexStage = stage("publish-index", 1, queueCapacity);
+        this.notifyStage = stage("publish-notify", workers, queueCapacity);
+    }
+
+    /**
+     * Copy the upload next to its final location as {@code {sha256}.{ext}}, hashing it on
+     * the way; cheap, so it runs on the request thread. Anything that isn't a JPEG, PNG,
+     * GIF or WebP picture is turned away here, before the listing is saved.
+     */
+    public Path stageImage(MultipartFile image) throws IOException {
+        if (image == null || image.isEmpty()) {
+            return null;
+        }
+        Files.createDirectories(stagingDir);
+        Path temp = Files.createTempFile(stagingDir, "upload", ".tmp");
+        try {
+            MessageDigest digest = ImageFiles.sha256();
+            try (InputStream in = new DigestInputStream(image.getInputStream(), digest)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String extension = ImageFiles.sniffExtension(temp);
+            if (extension == null) {
+                throw new IllegalArgumentException("Cover must be a JPEG, PNG, GIF or WebP image");
+            }
+            // Same name means same bytes, so a concurrent upload of this picture may replace it freely
+            Path staged = stagingDir.resolve(HexFormat.of().formatHex(digest.digest()) + "." + extension);
+            Files.move(temp, staged, StandardCopyOption.REPLACE_EXISTING);
+            return staged;
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    // Drop a staged cover whose listing could not be saved; stagedImage may be null
+    public void discardStaged(Path stagedImage) {
+        if (stagedImage != null) {
+            deleteQuietly(stagedImage);
+        }
+    }
+
+    // Start publishing a saved book; stagedImage may be null
+    public PublishStatus submit(Book book, Path stagedImage) {
+        PublishStatus status = new PublishStatus(book.getId(), Stage.QUEUED);
+        statuses.put(book.getId(), status);
+        imageStage.execute(() -> storeImage(book, stagedImage, status));
+        return status;
+    }
+
+    // Null once the listing has dropped out of the tracking window
+    public PublishStatus status(Long bookId) {
+        return statuses.getIfPresent(bookId);
+    }
+
+    // --- Stage 1: move the image into place, resize it and record the URLs ---
+    private void storeImage(Book book, Path staged, PublishStatus status) {
+        if (staged != null) {
+            status.moveTo(Stage.PROCESSING_IMAGE);
+            try {
+                Path dest = uploadDir.resolve(staged.getFileName());
+                moveIntoPlace(staged, dest);
+                String url = urlOf(dest);
+                // A cover uploaded before already has its variants (named from the same hash)
+                Thumbnailer.Variants variants = Thumbnailer.existingVariants(dest);
+                if (variants == null) {
+                    variants = resize(book, dest);
+                }
+                String grid = variants != null ? urlOf(variants.getGrid()) : null;
+                String detail = variants != null ? urlOf(variants.getDetail()) : null;
+                bookRepository.updateBookImages(book.getId(), url, grid, detail);
+                book.setBookImage(url);
+                book.setBookImageGrid(grid);
+                book.setBookImageDetail(detail);
+            } catch (IOException | RuntimeException e) {
+                // Publish without the picture rather than not at all
+                log.warn("Could not store image for book {}", book.getId(), e);
+                status.fail(Stage.PROCESSING_IMAGE, "Image could not be stored");
+                deleteQuietly(staged);
+            }
+        }
+        status.moveTo(Stage.INDEXING);
+        indexStage.execute(() -> index(book, status));
+    }
+
+    // A file already at dest has the same bytes (the name is their hash), so it is kept as it is
+    private static void moveIntoPlace(Path staged, Path dest) throws IOException {
+        if (!Files.exists(dest)) {
+            try {
+                Files.move(staged, dest);
+                return;
+            } catch (FileAlreadyExistsException | NoSuchFileException e) {
+                // Another listing of the same picture got there first (and may have taken the staged file)
+                if (!Files.exists(dest)) {
+                    throw e;
+                }
+            }
+        }
+        deleteQuietly(staged);
+    }
+
+    // Listings fall back to the original when there are no variants
+    private Thumbnailer.Variants resize(Book book, Path original) {
+        try {
+            Thumbnailer.Variants variants = Thumbnailer.createVariants(original);
+            if (variants == null) {
+                log.info("Book {} image is not a format that can be resized; serving the original", book.getId());
+            }
+            return variants;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not resize image for book {}", book.getId(), e);
+            return null;
+        }
+    }
+
+    private static String urlOf(Path file) {
+        return "/uploads/" + file.getFileName();
+    }
+
+    // --- Stage 2: search, facet, geo and cache structures, via the usual event ---
+    private void index(Book submitted, PublishStatus status) {
+        Book book;
+        try {
+            // Publish the row as it is now: it may have been edited or sold since the upload
+            List<Book> rows = bookRepository.findWithOwnerByIdIn(List.of(submitted.getId()));
+            if (rows.isEmpty()) {
+                // Deleted in the meantime; its own event has already cleared it everywhere
+                status.fail(Stage.FAILED, "Listing was removed before it was published");
+                return;
+            }
+            book = rows.get(0);
+            eventPublisher.publishEvent(BookChangedEvent.saved(this, book));
+        } catch (RuntimeException e) {
+            log.error("Indexing failed for book {}", submitted.getId(), e);
+            status.fail(Stage.FAILED, "Indexing failed");
+            return;
+        }
+        // Wishlisters already heard about the original listing
+        if (!book.isAvailable() || book.getDuplicateOf() != null) {
+            status.moveTo(Stage.PUBLISHED);
+            return;
+        }
+        status.moveTo(Stage.NOTIFYING);
+        notifyStage.execute(() -> notifyWishlisters(book, status));
+    }
+
+    // --- Stage 3: wishlist notifications ---
+    private void notifyWishlisters(Book book, PublishStatus status) {
+        try {
+            notificationService.notifyUsersForBookAvailability(book.getId());
+            status.moveTo(Stage.PUBLISHED);
+        } catch (RuntimeException e) {
+            log.error("Notifications failed for book {}", book.getId(), e);
+            status.fail(Stage.FAILED, "Notifications failed");
+        }
+    }
+
+    // Let queued listings finish, upstream stages first so their hand-offs still land
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (ThreadPoolExecutor stage : List.of(imageStage, indexStage, notifyStage)) {
+            stage.shutdown();
+            if (!stage.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("Publishing stage did not drain in time; {} tasks dropped", stage.shutdownNow().size());
+            }
+        }
+    }
+
+    private static ThreadPoolExecutor stage(String name, int threads, int queueCapacity) {
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), factory, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete {}", path, e);
+        }
+    }
+}
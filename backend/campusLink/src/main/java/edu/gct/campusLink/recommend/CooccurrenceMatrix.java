@@ -0,0 +1,100 @@
+package edu.gct.campusLink.recommend;
+
+import java.util.PriorityQueue;
+
+/**
+ * Sparse, symmetric item-item co-occurrence counts: two books co-occur once for
+ * every user who showed interest in both. Rows are primitive long-to-int maps,
+ * so an item's neighbours can be scored without boxing. Not thread-safe.
+ */
+public class CooccurrenceMatrix {
+
+    // Heavy users (or scripts) would add O(n^2) pairs and say little about similarity
+    static final int MAX_ITEMS_PER_USER = 200;
+
+    // item -> (other item -> users interested in both)
+    private final LongObjectHashMap<LongIntHashMap> rows = new LongObjectHashMap<>();
+    // item -> users interested in it
+    private final LongIntHashMap itemCounts = new LongIntHashMap();
+    // user -> items already counted for them (value unused)
+    private final LongObjectHashMap<LongIntHashMap> userItems = new LongObjectHashMap<>();
+
+    /**
+     * Record that a user is interested in an item. Returns the items whose rows
+     * changed (the item itself and everything else the user touched), or an empty
+     * array if the pair was already counted.
+     */
+    public long[] add(long user, long item) {
+        LongIntHashMap seen = userItems.computeIfAbsent(user, u -> new LongIntHashMap());
+        if (seen.containsKey(item) || seen.size() >= MAX_ITEMS_PER_USER) {
+            return new long[0];
+        }
+        long[] touched = new long[seen.size() + 1];
+        int[] n = {0};
+        LongIntHashMap row = rows.computeIfAbsent(item, i -> new LongIntHashMap());
+        seen.forEach((other, unused) -> {
+            row.addTo(other, 1);
+            rows.computeIfAbsent(other, i -> new LongIntHashMap()).addTo(item, 1);
+            touched[n[0]++] = other;
+        });
+        touched[n[0]] = item;
+        seen.put(item, 1);
+        itemCounts.addTo(item, 1);
+        return touched;
+    }
+
+    public int itemCount() {
+        return itemCounts.size();
+    }
+
+    public void forEachItem(LongIntHashMap.Entry consumer) {
+        itemCounts.forEach(consumer);
+    }
+
+    /**
+     * Up to k neighbours of the item by cosine similarity over the users behind them,
+     * c(i,j) / sqrt(n(i) * n(j)), best first.
+     */
+    public Neighbours topK(long item, int k) {
+        LongIntHashMap row = rows.get(item);
+        if (row == null || k <= 0) {
+            return Neighbours.EMPTY;
+        }
+        double itemNorm = Math.sqrt(itemCounts.get(item, 1));
+        // Min-heap on score holding the best k so far; entries are {score, id}
+        PriorityQueue<double[]> heap = new PriorityQueue<>(Math.min(k, row.size()) + 1, (a, b) ->
+                a[0] != b[0] ? Double.compare(a[0], b[0]) : Double.compare(b[1], a[1]));
+        row.forEach((other, together) -> {
+            double score = together / (itemNorm * Math.sqrt(itemCounts.get(other, 1)));
+            heap.add(new double[]{score, other});
+            if (heap.size() > k) heap.poll();
+        });
+
+        int size = heap.size();
+        long[] ids = new long[size];
+        double[] scores = new double[size];
+        for (int i = size - 1; i >= 0; i--) {
+            double[] entry = heap.poll();
+            scores[i] = entry[0];
+            ids[i] = (long) entry[1];
+        }
+        return new Neighbours(ids, scores);
+    }
+
+    // Neighbour ids and their similarity, best first
+    public static final class Neighbours {
+        static final Neighbours EMPTY = new Neighbours(new long[0], new double[0]);
+
+        private final long[] ids;
+        private final double[] scores;
+
+        Neighbours(long[] ids, double[] scores) {
+            this.ids = ids;
+            this.scores = scores;
+        }
+
+        public int size() { return ids.length; }
+        public long idAt(int i) { return ids[i]; }
+        public double scoreAt(int i) { return scores[i]; }
+    }
+}
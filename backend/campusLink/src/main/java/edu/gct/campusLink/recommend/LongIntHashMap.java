@@ -0,0 +1,117 @@
+package edu.gct.campusLink.recommend;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from long to int with linear probing. Keys and values
+ * live in two flat arrays, so there is no boxing and no per-entry object.
+ * Long.MIN_VALUE is reserved as the empty-slot marker. Not thread-safe.
+ */
+public class LongIntHashMap {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private int resizeAt;
+
+    public LongIntHashMap() {
+        this(8);
+    }
+
+    public LongIntHashMap(int expected) {
+        allocate(Math.max(4, Integer.highestOneBit(Math.max(1, (int) (expected / LOAD_FACTOR)) - 1) << 1));
+    }
+
+    public int get(long key, int defaultValue) {
+        int slot = find(key);
+        return keys[slot] == EMPTY ? defaultValue : values[slot];
+    }
+
+    public boolean containsKey(long key) {
+        return keys[find(key)] != EMPTY;
+    }
+
+    public void put(long key, int value) {
+        int slot = find(key);
+        if (keys[slot] == EMPTY) {
+            insert(slot, key, value);
+        } else {
+            values[slot] = value;
+        }
+    }
+
+    // Add delta to the value for key (absent counts as 0) and return the new value
+    public int addTo(long key, int delta) {
+        int slot = find(key);
+        if (keys[slot] == EMPTY) {
+            insert(slot, key, delta);
+            return delta;
+        }
+        return values[slot] += delta;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void forEach(Entry consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface Entry {
+        void accept(long key, int value);
+    }
+
+    private int find(long key) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Reserved key");
+        }
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void insert(int slot, long key, int value) {
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeAt) {
+            rehash();
+        }
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(keys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        values = new int[capacity];
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,161 @@
+package edu.gct.campusLink.recommend;
+
+import edu.gct.campusLink.dao.CartRepository;
+import edu.gct.campusLink.dao.OrderRepository;
+import edu.gct.campusLink.dao.WishlistRepository;
+import edu.gct.campusLink.event.BookInterestEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * "People who wanted this also wanted" neighbours for every book, from
+ * co-occurrence across wishlists, carts and orders.
+ *
+ * The matrix is built from the three tables at startup and on a schedule (which
+ * also drops removed wishlist and cart entries), and grows incrementally from
+ * {@link BookInterestEvent}s in between. Events that arrive while a rebuild is
+ * reading the tables are replayed onto the new matrix before it replaces the old
+ * one. Each book's top-K list is precomputed on rebuild and recomputed lazily once
+ * an incremental update touches its row.
+ */
+@Component
+public class SimilarBooks {
+
+    private static final Logger log = LoggerFactory.getLogger(SimilarBooks.class);
+
+    public static final int TOP_K = 20;
+
+    private final WishlistRepository wishlistRepository;
+    private final CartRepository cartRepository;
+    private final OrderRepository orderRepository;
+
+    private CooccurrenceMatrix matrix = new CooccurrenceMatrix();
+    // item -> precomputed neighbours; null value = stale, recompute on read
+    private LongObjectHashMap<CooccurrenceMatrix.Neighbours> topK = new LongObjectHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Interest seen while a rebuild reads the tables, replayed onto the new matrix; null when not rebuilding
+    private List<BookInterestEvent> duringRebuild;
+
+    public SimilarBooks(WishlistRepository wishlistRepository,
+                        CartRepository cartRepository,
+                        OrderRepository orderRepository) {
+        this.wishlistRepository = wishlistRepository;
+        this.cartRepository = cartRepository;
+        this.orderRepository = orderRepository;
+    }
+
+    // --- Full rebuild from wishlist, cart and order rows ---
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.similar.rebuild-cron:0 30 3 * * *}")
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            duringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        CooccurrenceMatrix fresh = new CooccurrenceMatrix();
+        LongObjectHashMap<CooccurrenceMatrix.Neighbours> freshTopK = new LongObjectHashMap<>();
+        try {
+            addPairs(fresh, wishlistRepository.findUserBookPairs());
+            addPairs(fresh, cartRepository.findUserBookPairs());
+            addPairs(fresh, orderRepository.findBuyerBookPairs());
+            fresh.forEachItem((item, count) -> freshTopK.put(item, fresh.topK(item, TOP_K)));
+        } catch (RuntimeException e) {
+            // Keep the current matrix, and stop buffering for a rebuild that won't happen
+            lock.writeLock().lock();
+            try {
+                duringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // Rows the queries already saw are counted once: add() ignores a pair it has seen
+            for (BookInterestEvent event : duringRebuild) {
+                apply(fresh, freshTopK, event);
+            }
+            duringRebuild = null;
+            matrix = fresh;
+            topK = freshTopK;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Built similarity lists for {} books in {} ms", fresh.itemCount(), System.currentTimeMillis() - start);
+    }
+
+    // --- Incremental update as users wishlist, cart or buy books ---
+    @EventListener
+    public void onInterest(BookInterestEvent event) {
+        if (event.getUserId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            apply(matrix, topK, event);
+            if (duringRebuild != null) {
+                duringRebuild.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private static void apply(CooccurrenceMatrix matrix, LongObjectHashMap<CooccurrenceMatrix.Neighbours> topK,
+                              BookInterestEvent event) {
+        for (Long bookId : event.getBookIds()) {
+            for (long touched : matrix.add(event.getUserId(), bookId)) {
+                topK.put(touched, null);
+            }
+        }
+    }
+
+    // Ids of up to limit similar books, most similar first
+    public List<Long> similar(long bookId, int limit) {
+        CooccurrenceMatrix.Neighbours neighbours;
+        lock.readLock().lock();
+        try {
+            neighbours = topK.get(bookId);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (neighbours == null) {
+            lock.writeLock().lock();
+            try {
+                neighbours = matrix.topK(bookId, TOP_K);
+                topK.put(bookId, neighbours);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        int n = Math.min(limit, neighbours.size());
+        List<Long> ids = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            ids.add(neighbours.idAt(i));
+        }
+        return ids;
+    }
+
+    private static void addPairs(CooccurrenceMatrix matrix, List<Object[]> pairs) {
+        for (Object[] pair : pairs) {
+            if (pair[0] != null && pair[1] != null) {
+                matrix.add(((Number) pair[0]).longValue(), ((Number) pair[1]).longValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package edu.gct.campusLink.recommend;
+
+import edu.gct.campusLink.cache.BookAvailability;
+import edu.gct.campusLink.dao.BookRepository;
+import edu.gct.campusLink.dto.BookListingDTO;
+import edu.gct.campusLink.event.BookChangedEvent;
+import edu.gct.campusLink.event.BookInterestEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * "Trending on campus": books ranked by recent views, wishlist adds and cart adds,
+ * with exponential time decay.
+ *
+ * Hits land in per-book {@link LongAdder}s (striped, so concurrent requests don't
+ * contend) and are folded into the scores on a fixed delay. Scores use forward
+ * decay: a hit at time t adds weight * e^(lambda * (t - landmark)), so scores only
+ * ever grow and their order at any moment matches the decayed order. That lets
+ * the top-N min-heap be updated in place on each flush instead of re-sorted. The
+ * listing rows for the top N are kept in memory and patched from
+ * {@link BookChangedEvent}s, so reads never touch the database.
+ */
+@Component
+public class TrendingBooks {
+
+    public static final int TOP_N = 50;
+
+    private static final int VIEW_WEIGHT = 1;
+    private static final int WISHLIST_WEIGHT = 3;
+    private static final int CART_WEIGHT = 5;
+    // Rescale before e^(lambda * age) gets anywhere near overflowing a double
+    private static final double MAX_EXPONENT = 600;
+    // Scores kept beyond the top N (as refill candidates) before the ones below the heap are dropped
+    private static final int MAX_SCORES = 20 * TOP_N;
+
+    private final BookRepository bookRepository;
+    private final BookAvailability availability;
+    private final double lambda;
+
+    // Hits since the last flush, in weight units
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    // --- flush-side state (guarded by this) ---
+    private final Map<Long, Double> scores = new HashMap<>();
+    private final PriorityQueue<Entry> heap = new PriorityQueue<>(Comparator.comparingDouble((Entry e) -> e.score)
+            .thenComparing(e -> -e.bookId));
+    private final Map<Long, Entry> inHeap = new HashMap<>();
+    private long landmarkMillis = System.currentTimeMillis();
+    private boolean refill = false;
+
+    // What readers see: listing rows of the current top N, best first
+    private volatile List<BookListingDTO> snapshot = List.of();
+
+    public TrendingBooks(BookRepository bookRepository,
+                         BookAvailability availability,
+                         @Value("${app.trending.half-life-hours:6}") double halfLifeHours) {
+        this.bookRepository = bookRepository;
+        this.availability = availability;
+        this.lambda = Math.log(2) / (halfLifeHours * 3_600_000);
+    }
+
+    public void recordView(long bookId) {
+        hit(bookId, VIEW_WEIGHT);
+    }
+
+    @EventListener
+    public void onInterest(BookInterestEvent event) {
+        int weight;
+        switch (event.getKind()) {
+            case WISHLISTED: weight = WISHLIST_WEIGHT; break;
+            case CARTED: weight = CART_WEIGHT; break;
+            default: return;
+        }
+        for (Long bookId : event.getBookIds()) {
+            hit(bookId, weight);
+        }
+    }
+
+    // Keep the served rows in step with edits, and drop books that stop being listed
+    @EventListener
+    public synchronized void onBookChanged(BookChangedEvent event) {
+        Long bookId = event.getBookId();
+        if (!event.isListed()) {
+            pending.remove(bookId);
+            if (scores.remove(bookId) != null && inHeap.containsKey(bookId)) {
+                heap.remove(inHeap.remove(bookId));
+                refill = true;
+            }
+        }
+        List<BookListingDTO> current = snapshot;
+        for (int i = 0; i < current.size(); i++) {
+            if (current.get(i).getId().equals(bookId)) {
+                List<BookListingDTO> updated = new ArrayList<>(current);
+                if (event.isListed()) {
+                    updated.set(i, new BookListingDTO(event.getBook()));
+                } else {
+                    updated.remove(i);
+                }
+                snapshot = List.copyOf(updated);
+                break;
+            }
+        }
+    }
+
+    // --- Fold pending hits into the decayed scores and the top-N heap ---
+    @Scheduled(fixedDelayString = "${app.trending.flush-ms:60000}")
+    public synchronized void flush() {
+        long now = System.currentTimeMillis();
+        if (lambda * (now - landmarkMillis) > MAX_EXPONENT) {
+            rescale(now);
+        }
+        double boost = Math.exp(lambda * (now - landmarkMillis));
+
+        boolean changed = false;
+        for (Map.Entry<Long, LongAdder> e : pending.entrySet()) {
+            long hits = e.getValue().sumThenReset();
+            Long bookId = e.getKey();
+            if (hits == 0) {
+                pending.remove(bookId, e.getValue());
+                continue;
+            }
+            if (!availability.isKnownAvailable(bookId)) {
+                continue;
+            }
+            double score = scores.merge(bookId, hits * boost, Double::sum);
+            changed |= offer(bookId, score);
+        }
+        if (refill) {
+            refill();
+            changed = true;
+        }
+        if (scores.size() > MAX_SCORES) {
+            prune();
+        }
+        if (changed) {
+            publish();
+        }
+    }
+
+    // Current top books, best first
+    public List<BookListingDTO> top(int limit) {
+        List<BookListingDTO> current = snapshot;
+        return current.size() > limit ? current.subList(0, limit) : current;
+    }
+
+    // Only listed books count; anything else (including ids that don't exist) would pile up in scores
+    private void hit(long bookId, int weight) {
+        if (availability.isKnownAvailable(bookId)) {
+            pending.computeIfAbsent(bookId, id -> new LongAdder()).add(weight);
+        }
+    }
+
+    // Scores only grow, so a book enters the heap by beating its minimum and never has to be demoted
+    private boolean offer(long bookId, double score) {
+        Entry existing = inHeap.get(bookId);
+        if (existing != null) {
+            heap.remove(existing);
+            existing.score = score;
+            heap.add(existing);
+            return true;
+        }
+        if (heap.size() < TOP_N) {
+            push(bookId, score);
+            return true;
+        }
+        if (score > heap.peek().score) {
+            inHeap.remove(heap.poll().bookId);
+            push(bookId, score);
+            return true;
+        }
+        return false;
+    }
+
+    private void push(long bookId, double score) {
+        Entry entry = new Entry(bookId, score);
+        heap.add(entry);
+        inHeap.put(bookId, entry);
+    }
+
+    // A book left the heap because it was sold or withdrawn: rebuild it from all scores
+    private void refill() {
+        heap.clear();
+        inHeap.clear();
+        scores.forEach(this::offer);
+        refill = false;
+    }
+
+    // Drop scores that have fallen below the heap's minimum; they can't reach the top N without new hits
+    private void prune() {
+        if (heap.size() < TOP_N) {
+            return;
+        }
+        double floor = heap.peek().score;
+        scores.entrySet().removeIf(e -> e.getValue() < floor && !inHeap.containsKey(e.getKey()));
+    }
+
+    // Move the landmark to now; dividing every score by the same factor keeps their order
+    private void rescale(long now) {
+        double factor = Math.exp(-lambda * (now - landmarkMillis));
+        scores.replaceAll((id, score) -> score * factor);
+        for (Entry entry : inHeap.values()) {
+            entry.score *= factor;
+        }
+        landmarkMillis = now;
+    }
+
+    // Load listing rows for the new top N once, here, rather than on every read
+    private void publish() {
+        List<Entry> ranked = new ArrayList<>(heap);
+        ranked.sort(heap.comparator().reversed());
+        List<Long> ids = new ArrayList<>(ranked.size());
+        for (Entry entry : ranked) {
+            ids.add(entry.bookId);
+        }
+
+        Map<Long, BookListingDTO> byId = new HashMap<>();
+        Set<Long> known = new HashSet<>();
+        for (BookListingDTO row : snapshot) {
+            byId.put(row.getId(), row);
+            known.add(row.getId());
+        }
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            if (!known.contains(id)) missing.add(id);
+        }
+        if (!missing.isEmpty()) {
+            for (BookListingDTO row : bookRepository.findListingsByIdIn(missing)) {
+                byId.put(row.getId(), row);
+            }
+        }
+
+        List<BookListingDTO> rows = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            BookListingDTO row = byId.get(id);
+            if (row != null && row.isAvailable()) {
+                rows.add(row);
+            }
+        }
+        snapshot = List.copyOf(rows);
+    }
+
+    private static final class Entry {
+        private final long bookId;
+        private double score;
+
+        private Entry(long bookId, double score) {
+            this.bookId = bookId;
+            this.score = score;
+        }
+    }
+}
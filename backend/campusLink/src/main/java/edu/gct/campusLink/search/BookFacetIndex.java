@@ -0,0 +1,216 @@
+package edu.gct.campusLink.search;
+
+import edu.gct.campusLink.bean.Book;
+import edu.gct.campusLink.dao.BookRepository;
+import edu.gct.campusLink.event.BookChangedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * One bitmap per facet value over the ids of available books. A filter is an AND
+ * across facets of the OR of the selected values, and each facet's counts are taken
+ * against the filter on every other facet (so picking "sale" doesn't zero out
+ * "exchange" in the type list).
+ *
+ * Book ids are dense auto-increment values, so plain {@link BitSet}s stay compact.
+ */
+@Component
+public class BookFacetIndex {
+
+    public static final String TYPE = "type";
+    public static final String QUALITY = "quality";
+    public static final String EDITION = "edition";
+    public static final String PRICE = "price";
+    public static final List<String> FACETS = List.of(TYPE, QUALITY, EDITION, PRICE);
+
+    // Upper bounds (inclusive) of the generatedPrice buckets; the last bucket is open-ended
+    private static final double[] PRICE_LIMITS = {0, 100, 250, 500, 1000};
+    private static final String[] PRICE_BUCKETS = {"free", "1-100", "101-250", "251-500", "501-1000", "1000+"};
+
+    private final BookRepository bookRepository;
+
+    // facet -> value -> ids
+    private final Map<String, Map<String, BitSet>> bitmaps = new HashMap<>();
+    private final BitSet all = new BitSet();
+    // id -> facet values it is currently filed under, in FACETS order
+    private final Map<Integer, String[]> filed = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public BookFacetIndex(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+        for (String facet : FACETS) {
+            bitmaps.put(facet, new HashMap<>());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Book> books = bookRepository.findByIsAvailableTrue();
+        lock.writeLock().lock();
+        try {
+            bitmaps.values().forEach(Map::clear);
+            all.clear();
+            filed.clear();
+            for (Book book : books) {
+                addLocked(book);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onBookChanged(BookChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(Math.toIntExact(event.getBookId()));
+            if (event.isListed()) {
+                addLocked(event.getBook());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Apply a filter (facet -> accepted values; empty or missing = no constraint)
+     * and count every facet value under the other facets' constraints.
+     */
+    public Result filter(Map<String, ? extends Collection<String>> selected) {
+        lock.readLock().lock();
+        try {
+            Map<String, BitSet> perFacet = new HashMap<>();
+            for (String facet : FACETS) {
+                Collection<String> values = selected.get(facet);
+                if (values != null && !values.isEmpty()) {
+                    perFacet.put(facet, union(facet, values));
+                }
+            }
+
+            BitSet matches = (BitSet) all.clone();
+            perFacet.values().forEach(matches::and);
+
+            Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+            for (String facet : FACETS) {
+                // Base for this facet: everything except its own constraint
+                BitSet base = (BitSet) all.clone();
+                perFacet.forEach((f, bits) -> {
+                    if (!f.equals(facet)) base.and(bits);
+                });
+                Map<String, Integer> valueCounts = new TreeMap<>();
+                for (Map.Entry<String, BitSet> e : bitmaps.get(facet).entrySet()) {
+                    BitSet both = (BitSet) e.getValue().clone();
+                    both.and(base);
+                    int count = both.cardinality();
+                    if (count > 0) valueCounts.put(e.getKey(), count);
+                }
+                counts.put(facet, valueCounts);
+            }
+            return new Result(matches, counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Normalized facet value a book is filed under
+    public static String valueOf(String facet, Book book) {
+        switch (facet) {
+            case TYPE: return normalize(book.getType());
+            case QUALITY: return normalize(book.getQuality());
+            case EDITION: return normalize(book.getEdition());
+            case PRICE: return priceBucket(book.getGeneratedPrice());
+            default: throw new IllegalArgumentException("Unknown facet: " + facet);
+        }
+    }
+
+    public static String normalize(String value) {
+        return value == null || value.isBlank() ? "unspecified" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String priceBucket(double price) {
+        for (int i = 0; i < PRICE_LIMITS.length; i++) {
+            if (price <= PRICE_LIMITS[i]) return PRICE_BUCKETS[i];
+        }
+        return PRICE_BUCKETS[PRICE_BUCKETS.length - 1];
+    }
+
+    // --- internals (callers hold the lock) ---
+
+    private BitSet union(String facet, Collection<String> values) {
+        BitSet bits = new BitSet();
+        Map<String, BitSet> byValue = bitmaps.get(facet);
+        for (String value : values) {
+            BitSet valueBits = byValue.get(PRICE.equals(facet) ? value.trim() : normalize(value));
+            if (valueBits != null) bits.or(valueBits);
+        }
+        return bits;
+    }
+
+    private void addLocked(Book book) {
+        int id = Math.toIntExact(book.getId());
+        String[] values = new String[FACETS.size()];
+        for (int i = 0; i < values.length; i++) {
+            String facet = FACETS.get(i);
+            values[i] = valueOf(facet, book);
+            bitmaps.get(facet).computeIfAbsent(values[i], v -> new BitSet()).set(id);
+        }
+        filed.put(id, values);
+        all.set(id);
+    }
+
+    private void removeLocked(int id) {
+        String[] values = filed.remove(id);
+        if (values == null) return;
+        for (int i = 0; i < values.length; i++) {
+            Map<String, BitSet> byValue = bitmaps.get(FACETS.get(i));
+            BitSet bits = byValue.get(values[i]);
+            if (bits != null) {
+                bits.clear(id);
+                if (bits.isEmpty()) byValue.remove(values[i]);
+            }
+        }
+        all.clear(id);
+    }
+
+    // Matching ids plus per-facet value counts
+    public static final class Result {
+        private final BitSet matches;
+        private final Map<String, Map<String, Integer>> counts;
+
+        private Result(BitSet matches, Map<String, Map<String, Integer>> counts) {
+            this.matches = matches;
+            this.counts = counts;
+        }
+
+        public int total() {
+            return matches.cardinality();
+        }
+
+        public Map<String, Map<String, Integer>> getCounts() {
+            return counts;
+        }
+
+        // Up to limit matching ids below beforeId (exclusive), highest (newest) first
+        public List<Long> idsBefore(long beforeId, int limit) {
+            List<Long> ids = new ArrayList<>(limit);
+            int from = (int) Math.min(beforeId - 1, Integer.MAX_VALUE - 1);
+            for (int i = matches.previousSetBit(from); i >= 0 && ids.size() < limit; i = matches.previousSetBit(i - 1)) {
+                ids.add((long) i);
+            }
+            return ids;
+        }
+    }
+}
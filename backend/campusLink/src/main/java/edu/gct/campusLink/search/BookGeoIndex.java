@@ -0,0 +1,64 @@
+package edu.gct.campusLink.search;
+
+import edu.gct.campusLink.bean.Book;
+import edu.gct.campusLink.dao.BookRepository;
+import edu.gct.campusLink.event.BookChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Pickup locations of available books that carry coordinates, for "near me" listings.
+ * Rebuilt from the database at startup and kept current through {@link BookChangedEvent}s.
+ */
+@Component
+public class BookGeoIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BookGeoIndex.class);
+
+    private final GeoIndex index = new GeoIndex();
+    private final BookRepository bookRepository;
+
+    public BookGeoIndex(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        index.clear();
+        for (Book book : bookRepository.findByIsAvailableTrue()) {
+            add(book);
+        }
+        log.info("Located {} available books", index.size());
+    }
+
+    @EventListener
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.isListed()) {
+            add(event.getBook());
+        } else {
+            index.remove(event.getBookId());
+        }
+    }
+
+    // Available books within radiusMeters of the point, nearest first
+    public List<GeoIndex.Nearby> near(double lat, double lon, double radiusMeters, GeoIndex.Nearby after, int limit) {
+        return index.near(lat, lon, radiusMeters, after, limit);
+    }
+
+    public static boolean isValid(Double lat, Double lon) {
+        return lat != null && lon != null && lat >= -90 && lat <= 90 && lon >= -180 && lon <= 180;
+    }
+
+    private void add(Book book) {
+        if (isValid(book.getLatitude(), book.getLongitude())) {
+            index.put(book.getId(), book.getLatitude(), book.getLongitude());
+        } else {
+            index.remove(book.getId());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package edu.gct.campusLink.search;
+
+import edu.gct.campusLink.bean.Book;
+import edu.gct.campusLink.dao.BookRepository;
+import edu.gct.campusLink.event.BookChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Full-text index and title/author typeahead over available books.
+ * Rebuilt from the database at startup and kept current through {@link BookChangedEvent}s.
+ */
+@Component
+public class BookSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BookSearchIndex.class);
+
+    // Field boosts: title, author, edition, description
+    private final InvertedIndex index = new InvertedIndex(3.0, 2.0, 1.0, 0.5);
+    // Phrase weight = number of available listings carrying that title / author
+    private final PrefixSuggester suggester = new PrefixSuggester();
+    // Title and author last indexed per book, so an update can retract them from the suggester
+    private final Map<Long, String[]> suggested = new ConcurrentHashMap<>();
+    private final BookRepository bookRepository;
+
+    private volatile boolean ready = false;
+
+    public BookSearchIndex(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    // --- Rebuild the whole index from the books table ---
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        index.clear();
+        suggester.clear();
+        suggested.clear();
+        for (Book book : bookRepository.findByIsAvailableTrue()) {
+            add(book);
+        }
+        ready = true;
+        log.info("Indexed {} available books in {} ms", index.size(), System.currentTimeMillis() - start);
+    }
+
+    // --- Keep the index in step with catalog writes ---
+    @EventListener
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.isListed()) {
+            add(event.getBook());
+        } else {
+            remove(event.getBookId());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Ids of matching available books, most relevant first
+    public List<Long> search(String query, int limit) {
+        return ids(index.search(query, limit));
+    }
+
+    // Same as search, but tolerant of small spelling mistakes in each query word
+    public List<Long> searchFuzzy(String query, int limit) {
+        return ids(index.searchFuzzy(query, limit));
+    }
+
+    // Scored matches, best first; used where callers need the score (e.g. as a page cursor)
+    public List<InvertedIndex.Hit> hits(String query, boolean fuzzy, int limit) {
+        return fuzzy ? index.searchFuzzy(query, limit) : index.search(query, limit);
+    }
+
+    // Title / author completions for a typed prefix, most listed first
+    public List<PrefixSuggester.Suggestion> suggest(String prefix, int limit) {
+        return suggester.suggest(prefix, limit);
+    }
+
+    private static List<Long> ids(List<InvertedIndex.Hit> hits) {
+        List<Long> ids = new ArrayList<>(hits.size());
+        for (InvertedIndex.Hit hit : hits) {
+            ids.add(hit.getDocId());
+        }
+        return ids;
+    }
+
+    private void add(Book book) {
+        index.index(book.getId(), book.getTitle(), book.getAuthor(), book.getEdition(), book.getDescription());
+
+        String[] phrases = {book.getTitle(), book.getAuthor()};
+        String[] previous = suggested.put(book.getId(), phrases);
+        if (previous != null) {
+            retract(previous);
+        }
+        suggester.adjust("title", phrases[0], 1);
+        suggester.adjust("author", phrases[1], 1);
+    }
+
+    private void remove(Long bookId) {
+        index.remove(bookId);
+        String[] previous = suggested.remove(bookId);
+        if (previous != null) {
+            retract(previous);
+        }
+    }
+
+    private void retract(String[] phrases) {
+        suggester.adjust("title", phrases[0], -1);
+        suggester.adjust("author", phrases[1], -1);
+    }
+}
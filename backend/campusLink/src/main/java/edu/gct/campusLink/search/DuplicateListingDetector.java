@@ -0,0 +1,80 @@
+package edu.gct.campusLink.search;
+
+import edu.gct.campusLink.bean.Book;
+import edu.gct.campusLink.dao.BookRepository;
+import edu.gct.campusLink.event.BookChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Spots a seller re-listing a book they already have up for grabs. Each available
+ * listing's title, author and description are fingerprinted with {@link SimHash}
+ * and filed per owner in a {@link SimHashIndex}, so checking an upload costs eight
+ * bucket probes rather than a comparison against every listing of that owner.
+ */
+@Component
+public class DuplicateListingDetector {
+
+    private static final Logger log = LoggerFactory.getLogger(DuplicateListingDetector.class);
+
+    // Feature weights: title, author, description
+    private static final double TITLE_WEIGHT = 3.0;
+    private static final double AUTHOR_WEIGHT = 2.0;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+
+    private final SimHashIndex index = new SimHashIndex();
+    private final BookRepository bookRepository;
+
+    public DuplicateListingDetector(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        index.clear();
+        for (Book book : bookRepository.findByIsAvailableTrue()) {
+            add(book);
+        }
+        log.info("Fingerprinted {} available listings", index.size());
+    }
+
+    @EventListener
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.isListed()) {
+            add(event.getBook());
+        } else {
+            index.remove(event.getBookId());
+        }
+    }
+
+    // Id of an available listing by the same owner that is a near-copy of this book, or null
+    public Long findDuplicate(Book book) {
+        if (book.getOwner() == null || book.getOwner().getId() == null) {
+            return null;
+        }
+        long self = book.getId() != null ? book.getId() : -1;
+        long match = index.findNear(book.getOwner().getId(), fingerprint(book), self);
+        return match >= 0 ? match : null;
+    }
+
+    public static long fingerprint(Book book) {
+        Map<String, Double> features = new HashMap<>();
+        SimHash.addFeatures(features, TextAnalyzer.tokenize(book.getTitle()), TITLE_WEIGHT);
+        SimHash.addFeatures(features, TextAnalyzer.tokenize(book.getAuthor()), AUTHOR_WEIGHT);
+        SimHash.addFeatures(features, TextAnalyzer.tokenize(book.getDescription()), DESCRIPTION_WEIGHT);
+        return SimHash.fingerprint(features);
+    }
+
+    private void add(Book book) {
+        if (book.getOwner() == null || book.getOwner().getId() == null) {
+            return;
+        }
+        index.put(book.getId(), book.getOwner().getId(), fingerprint(book));
+    }
+}
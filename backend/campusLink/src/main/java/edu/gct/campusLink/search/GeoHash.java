@@ -0,0 +1,94 @@
+package edu.gct.campusLink.search;
+
+/**
+ * Standard base-32 geohash. Nearby points share long prefixes, so a cell and
+ * everything inside it is a contiguous key range in a sorted map.
+ */
+public final class GeoHash {
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+    private static final double EARTH_RADIUS_METERS = 6_371_000;
+    private static final double METERS_PER_DEGREE = Math.PI * EARTH_RADIUS_METERS / 180;
+
+    private GeoHash() {
+    }
+
+    public static String encode(double lat, double lon, int precision) {
+        double minLat = -90, maxLat = 90, minLon = -180, maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean lonBit = true;
+        int bits = 0, ch = 0;
+        while (hash.length() < precision) {
+            if (lonBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (lon >= mid) { ch = (ch << 1) | 1; minLon = mid; } else { ch <<= 1; maxLon = mid; }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (lat >= mid) { ch = (ch << 1) | 1; minLat = mid; } else { ch <<= 1; maxLat = mid; }
+            }
+            lonBit = !lonBit;
+            if (++bits == 5) {
+                hash.append(BASE32[ch]);
+                bits = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    // The cell containing the point plus its eight neighbours, at the given precision
+    public static String[] cellAndNeighbours(double lat, double lon, int precision) {
+        double height = cellHeightDegrees(precision);
+        double width = cellWidthDegrees(precision);
+        String[] cells = new String[9];
+        int i = 0;
+        for (int dLat = -1; dLat <= 1; dLat++) {
+            for (int dLon = -1; dLon <= 1; dLon++) {
+                double nLat = Math.max(-90, Math.min(90, lat + dLat * height));
+                double nLon = wrapLongitude(lon + dLon * width);
+                cells[i++] = encode(nLat, nLon, precision);
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Longest precision (up to maxPrecision) whose cells are at least radius wide and
+     * tall at this latitude, so the 3x3 block around the centre covers the whole circle.
+     */
+    public static int precisionFor(double radiusMeters, double lat, int maxPrecision) {
+        double cosLat = Math.max(0.01, Math.cos(Math.toRadians(lat)));
+        for (int precision = maxPrecision; precision > 1; precision--) {
+            double heightMeters = cellHeightDegrees(precision) * METERS_PER_DEGREE;
+            double widthMeters = cellWidthDegrees(precision) * METERS_PER_DEGREE * cosLat;
+            if (Math.min(heightMeters, widthMeters) >= radiusMeters) {
+                return precision;
+            }
+        }
+        return 1;
+    }
+
+    // Great-circle distance between two points
+    public static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    // Odd bits go to longitude first, so longitude gets the extra bit on odd totals
+    private static double cellHeightDegrees(int precision) {
+        return 180 / Math.pow(2, (5 * precision) / 2);
+    }
+
+    private static double cellWidthDegrees(int precision) {
+        return 360 / Math.pow(2, (5 * precision + 1) / 2);
+    }
+
+    private static double wrapLongitude(double lon) {
+        if (lon >= 180) return lon - 360;
+        if (lon < -180) return lon + 360;
+        return lon;
+    }
+}
@@ -0,0 +1,142 @@
+package edu.gct.campusLink.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Points filed by their precision-7 geohash (cells of roughly 150 m) in a sorted map.
+ * A radius query picks the geohash length whose cells are at least as big as the
+ * radius, scans the key ranges of the centre cell and its eight neighbours, and
+ * measures distances only for points inside those nine cells.
+ */
+public class GeoIndex {
+
+    public static final int PRECISION = 7;
+
+    // geohash -> docIds in that cell
+    private final TreeMap<String, Set<Long>> cells = new TreeMap<>();
+    // docId -> {lat, lon}
+    private final Map<Long, double[]> points = new HashMap<>();
+    // docId -> geohash, needed to unfile a document
+    private final Map<Long, String> cellOf = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(long docId, double lat, double lon) {
+        String cell = GeoHash.encode(lat, lon, PRECISION);
+        lock.writeLock().lock();
+        try {
+            removeLocked(docId);
+            cells.computeIfAbsent(cell, c -> new HashSet<>()).add(docId);
+            points.put(docId, new double[]{lat, lon});
+            cellOf.put(docId, cell);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long docId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(docId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            cells.clear();
+            points.clear();
+            cellOf.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return points.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Up to limit points within radiusMeters of (lat, lon), nearest first
+    public List<Nearby> near(double lat, double lon, double radiusMeters, int limit) {
+        return near(lat, lon, radiusMeters, null, limit);
+    }
+
+    // Same, but only points that sort after `after` (the last point of the previous page); null for the first page
+    public List<Nearby> near(double lat, double lon, double radiusMeters, Nearby after, int limit) {
+        int precision = GeoHash.precisionFor(radiusMeters, lat, PRECISION);
+        Set<String> prefixes = new HashSet<>(List.of(GeoHash.cellAndNeighbours(lat, lon, precision)));
+
+        List<Nearby> found = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (String prefix : prefixes) {
+                // Every key starting with prefix sorts between prefix and prefix + '~'
+                for (Set<Long> ids : cells.subMap(prefix, prefix + '~').values()) {
+                    for (Long id : ids) {
+                        double[] point = points.get(id);
+                        double distance = GeoHash.distanceMeters(lat, lon, point[0], point[1]);
+                        if (distance <= radiusMeters) {
+                            Nearby hit = new Nearby(id, distance);
+                            if (after == null || hit.compareTo(after) > 0) {
+                                found.add(hit);
+                            }
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        found.sort(null);
+        return found.size() > limit ? new ArrayList<>(found.subList(0, limit)) : found;
+    }
+
+    private void removeLocked(long docId) {
+        String cell = cellOf.remove(docId);
+        if (cell == null) {
+            return;
+        }
+        points.remove(docId);
+        Set<Long> ids = cells.get(cell);
+        if (ids != null) {
+            ids.remove(docId);
+            if (ids.isEmpty()) {
+                cells.remove(cell);
+            }
+        }
+    }
+
+    // A point and its distance from the query centre; natural order is nearest first, then lowest id
+    public static final class Nearby implements Comparable<Nearby> {
+        private final long docId;
+        private final double distanceMeters;
+
+        public Nearby(long docId, double distanceMeters) {
+            this.docId = docId;
+            this.distanceMeters = distanceMeters;
+        }
+
+        public long getDocId() { return docId; }
+        public double getDistanceMeters() { return distanceMeters; }
+
+        @Override
+        public int compareTo(Nearby other) {
+            int byDistance = Double.compare(distanceMeters, other.distanceMeters);
+            return byDistance != 0 ? byDistance : Long.compare(docId, other.docId);
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package edu.gct.campusLink.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread-safe, in-memory inverted index over a fixed set of weighted text fields.
+ * Documents are scored with BM25F: term frequencies are normalised per field,
+ * multiplied by the field boost and combined with the term's idf.
+ *
+ * Every query term must match (AND semantics). The last term is also treated as
+ * a prefix so results keep up with a user who is still typing. A trigram index over
+ * the vocabulary backs the typo-tolerant {@link #searchFuzzy} mode.
+ */
+public class InvertedIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final double[] fieldBoosts;
+
+    // term -> (docId -> term frequency per field); sorted so prefixes are a range scan
+    private final TreeMap<String, Map<Long, int[]>> postings = new TreeMap<>();
+    // docId -> token count per field
+    private final Map<Long, int[]> fieldLengths = new HashMap<>();
+    // docId -> distinct terms, needed to unindex a document
+    private final Map<Long, Set<String>> docTerms = new HashMap<>();
+    private final long[] totalFieldLengths;
+    // Spelling-variant lookup over the current vocabulary
+    private final TrigramIndex trigrams = new TrigramIndex();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public InvertedIndex(double... fieldBoosts) {
+        this.fieldBoosts = fieldBoosts.clone();
+        this.totalFieldLengths = new long[fieldBoosts.length];
+    }
+
+    // Add or replace a document; fieldValues must line up with the boosts given to the constructor
+    public void index(long docId, String... fieldValues) {
+        if (fieldValues.length != fieldBoosts.length) {
+            throw new IllegalArgumentException("Expected " + fieldBoosts.length + " fields but got " + fieldValues.length);
+        }
+
+        Map<String, int[]> frequencies = new HashMap<>();
+        int[] lengths = new int[fieldBoosts.length];
+        for (int f = 0; f < fieldValues.length; f++) {
+            List<String> terms = TextAnalyzer.tokenize(fieldValues[f]);
+            lengths[f] = terms.size();
+            for (String term : terms) {
+                frequencies.computeIfAbsent(term, t -> new int[fieldBoosts.length])[f]++;
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(docId);
+            for (Map.Entry<String, int[]> e : frequencies.entrySet()) {
+                Map<Long, int[]> posting = postings.get(e.getKey());
+                if (posting == null) {
+                    posting = new HashMap<>();
+                    postings.put(e.getKey(), posting);
+                    trigrams.add(e.getKey());
+                }
+                posting.put(docId, e.getValue());
+            }
+            fieldLengths.put(docId, lengths);
+            docTerms.put(docId, new HashSet<>(frequencies.keySet()));
+            for (int f = 0; f < lengths.length; f++) {
+                totalFieldLengths[f] += lengths[f];
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long docId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(docId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            fieldLengths.clear();
+            docTerms.clear();
+            trigrams.clear();
+            Arrays.fill(totalFieldLengths, 0L);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return fieldLengths.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(long docId) {
+        lock.readLock().lock();
+        try {
+            return fieldLengths.containsKey(docId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Relevance-ranked matches for a free-text query, best first
+    public List<Hit> search(String query, int limit) {
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(TextAnalyzer.tokenize(query)));
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        boolean lastIsPrefix = !Character.isWhitespace(query.charAt(query.length() - 1));
+
+        List<Set<String>> alternatives = new ArrayList<>(queryTerms.size());
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < queryTerms.size(); i++) {
+                String term = queryTerms.get(i);
+                boolean prefix = lastIsPrefix && i == queryTerms.size() - 1;
+                alternatives.add(prefix ? expandPrefix(term) : exact(term));
+            }
+            return searchLocked(alternatives, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Like {@link #search} but each query term also matches indexed terms within a
+     * small edit distance (one edit up to 7 characters, two beyond).
+     */
+    public List<Hit> searchFuzzy(String query, int limit) {
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(TextAnalyzer.tokenize(query)));
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        boolean lastIsPrefix = !Character.isWhitespace(query.charAt(query.length() - 1));
+
+        List<Set<String>> alternatives = new ArrayList<>(queryTerms.size());
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < queryTerms.size(); i++) {
+                String term = queryTerms.get(i);
+                Set<String> variants = new HashSet<>(trigrams.similar(term, TrigramIndex.maxEditsFor(term)));
+                if (lastIsPrefix && i == queryTerms.size() - 1) {
+                    variants.addAll(expandPrefix(term));
+                } else {
+                    variants.addAll(exact(term));
+                }
+                alternatives.add(variants);
+            }
+            return searchLocked(alternatives, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- internals (callers hold the lock) ---
+
+    private List<Hit> searchLocked(List<Set<String>> alternatives, int limit) {
+        // Candidate docs per query position, then intersect starting from the rarest
+        List<Set<Long>> candidates = new ArrayList<>(alternatives.size());
+        for (Set<String> terms : alternatives) {
+            Set<Long> docs = new HashSet<>();
+            for (String term : terms) {
+                Map<Long, int[]> posting = postings.get(term);
+                if (posting != null) {
+                    docs.addAll(posting.keySet());
+                }
+            }
+            if (docs.isEmpty()) {
+                return List.of();
+            }
+            candidates.add(docs);
+        }
+        candidates.sort((a, b) -> Integer.compare(a.size(), b.size()));
+        Set<Long> matches = new HashSet<>(candidates.get(0));
+        for (int i = 1; i < candidates.size() && !matches.isEmpty(); i++) {
+            matches.retainAll(candidates.get(i));
+        }
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+
+        int docCount = fieldLengths.size();
+        double[] avgLengths = new double[fieldBoosts.length];
+        for (int f = 0; f < avgLengths.length; f++) {
+            avgLengths[f] = docCount == 0 ? 0 : (double) totalFieldLengths[f] / docCount;
+        }
+
+        List<Hit> hits = new ArrayList<>(matches.size());
+        for (Long docId : matches) {
+            int[] lengths = fieldLengths.get(docId);
+            double score = 0;
+            for (Set<String> terms : alternatives) {
+                for (String term : terms) {
+                    Map<Long, int[]> posting = postings.get(term);
+                    int[] tf = posting != null ? posting.get(docId) : null;
+                    if (tf != null) {
+                        score += idf(posting.size(), docCount) * weightedTf(tf, lengths, avgLengths);
+                    }
+                }
+            }
+            hits.add(new Hit(docId, score));
+        }
+        hits.sort(null);
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    private double weightedTf(int[] tf, int[] lengths, double[] avgLengths) {
+        double pseudoTf = 0;
+        for (int f = 0; f < tf.length; f++) {
+            if (tf[f] == 0) continue;
+            double norm = avgLengths[f] > 0 ? 1 - B + B * lengths[f] / avgLengths[f] : 1;
+            pseudoTf += fieldBoosts[f] * tf[f] / norm;
+        }
+        return pseudoTf * (K1 + 1) / (pseudoTf + K1);
+    }
+
+    private static double idf(int docFrequency, int docCount) {
+        return Math.log(1 + (docCount - docFrequency + 0.5) / (docFrequency + 0.5));
+    }
+
+    private Set<String> exact(String term) {
+        return postings.containsKey(term) ? Set.of(term) : Collections.emptySet();
+    }
+
+    private Set<String> expandPrefix(String prefix) {
+        Set<String> terms = new HashSet<>();
+        SortedMap<String, Map<Long, int[]>> tail = postings.tailMap(prefix);
+        for (String term : tail.keySet()) {
+            if (!term.startsWith(prefix) || terms.size() >= MAX_PREFIX_EXPANSIONS) break;
+            terms.add(term);
+        }
+        return terms;
+    }
+
+    private void removeLocked(long docId) {
+        Set<String> terms = docTerms.remove(docId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, int[]> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(docId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                    trigrams.remove(term);
+                }
+            }
+        }
+        int[] lengths = fieldLengths.remove(docId);
+        for (int f = 0; f < lengths.length; f++) {
+            totalFieldLengths[f] -= lengths[f];
+        }
+    }
+
+    // A scored match; natural order is best score first, then lowest id
+    public static final class Hit implements Comparable<Hit> {
+        private final long docId;
+        private final double score;
+
+        public Hit(long docId, double score) {
+            this.docId = docId;
+            this.score = score;
+        }
+
+        public long getDocId() { return docId; }
+        public double getScore() { return score; }
+
+        @Override
+        public int compareTo(Hit other) {
+            int byScore = Double.compare(other.score, score);
+            return byScore != 0 ? byScore : Long.compare(docId, other.docId);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package edu.gct.campusLink.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Weighted typeahead over short phrases (titles, author names).
+ *
+ * Phrases live in a character trie whose children are kept in sorted arrays, and
+ * every node remembers the highest weight found below it. A lookup walks to the
+ * prefix node and then does a best-first search, so the top suggestions come out
+ * without visiting the whole subtree. Each phrase is also reachable from the start
+ * of every later word ("algorithms" finds "Introduction to Algorithms").
+ */
+public class PrefixSuggester {
+
+    private static final int MAX_WORD_ENTRY_POINTS = 8;
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node();
+    private final Map<String, Phrase> phrases = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Bump a phrase's weight by delta (use a negative delta to retract); phrases at zero are dropped
+    public void adjust(String kind, String text, int delta) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty() || delta == 0) {
+            return;
+        }
+        String key = kind + ':' + normalized;
+
+        lock.writeLock().lock();
+        try {
+            Phrase phrase = phrases.get(key);
+            if (phrase == null) {
+                if (delta < 0) return;
+                phrase = new Phrase(key, kind, text.trim());
+                phrases.put(key, phrase);
+            }
+            phrase.weight += delta;
+
+            boolean drop = phrase.weight <= 0;
+            if (drop) {
+                phrases.remove(key);
+            }
+            for (String entry : entryPoints(normalized)) {
+                update(entry, phrase, drop);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            root.labels = NO_LABELS;
+            root.children = NO_CHILDREN;
+            root.phrases = null;
+            root.maxWeight = 0;
+            phrases.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Up to limit phrases reachable from the prefix, heaviest first
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < normalized.length() && node != null; i++) {
+                node = node.child(normalized.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+
+            // Queue holds both nodes (ranked by best weight below them) and phrases (ranked by weight)
+            PriorityQueue<Object[]> queue = new PriorityQueue<>((a, b) -> Integer.compare((int) b[0], (int) a[0]));
+            queue.add(new Object[]{node.maxWeight, node});
+            List<Suggestion> results = new ArrayList<>(limit);
+            Set<String> seen = new HashSet<>();
+
+            while (!queue.isEmpty() && results.size() < limit) {
+                Object item = queue.poll()[1];
+                if (item instanceof Phrase phrase) {
+                    if (seen.add(phrase.key)) {
+                        results.add(new Suggestion(phrase.display, phrase.kind, phrase.weight));
+                    }
+                    continue;
+                }
+                Node current = (Node) item;
+                if (current.phrases != null) {
+                    for (Phrase phrase : current.phrases) {
+                        queue.add(new Object[]{phrase.weight, phrase});
+                    }
+                }
+                for (Node child : current.children) {
+                    queue.add(new Object[]{child.maxWeight, child});
+                }
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Lower-case, accent-free, single-spaced form used as the trie key
+    static String normalize(String text) {
+        return String.join(" ", TextAnalyzer.normalize(text).split("[^\\p{L}\\p{N}]+")).trim();
+    }
+
+    private static List<String> entryPoints(String normalized) {
+        List<String> entries = new ArrayList<>();
+        entries.add(normalized);
+        int from = 0;
+        while (entries.size() < MAX_WORD_ENTRY_POINTS) {
+            int space = normalized.indexOf(' ', from);
+            if (space < 0) break;
+            entries.add(normalized.substring(space + 1));
+            from = space + 1;
+        }
+        return entries;
+    }
+
+    // --- trie maintenance (write lock held) ---
+
+    private void update(String entry, Phrase phrase, boolean drop) {
+        Node[] path = new Node[entry.length() + 1];
+        path[0] = root;
+        Node node = root;
+        for (int i = 0; i < entry.length(); i++) {
+            Node next = node.child(entry.charAt(i));
+            if (next == null) {
+                if (drop) return;
+                next = node.addChild(entry.charAt(i));
+            }
+            node = next;
+            path[i + 1] = node;
+        }
+
+        if (drop) {
+            if (node.phrases != null) {
+                node.phrases.remove(phrase);
+                if (node.phrases.isEmpty()) node.phrases = null;
+            }
+        } else {
+            if (node.phrases == null) node.phrases = new ArrayList<>(1);
+            if (!node.phrases.contains(phrase)) node.phrases.add(phrase);
+        }
+
+        // Recompute subtree maxima bottom-up and prune nodes that became empty
+        for (int i = path.length - 1; i >= 0; i--) {
+            Node current = path[i];
+            current.recomputeMax();
+            if (i > 0 && current.maxWeight == 0 && current.phrases == null && current.children.length == 0) {
+                path[i - 1].removeChild(entry.charAt(i - 1));
+            }
+        }
+    }
+
+    private static final class Phrase {
+        private final String key;
+        private final String kind;
+        private final String display;
+        private int weight;
+
+        private Phrase(String key, String kind, String display) {
+            this.key = key;
+            this.kind = kind;
+            this.display = display;
+        }
+    }
+
+    private static final class Node {
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private List<Phrase> phrases;
+        private int maxWeight;
+
+        private Node child(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        private Node addChild(char c) {
+            int insertAt = -Arrays.binarySearch(labels, c) - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            System.arraycopy(labels, insertAt, newLabels, insertAt + 1, labels.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            Node node = new Node();
+            newLabels[insertAt] = c;
+            newChildren[insertAt] = node;
+            labels = newLabels;
+            children = newChildren;
+            return node;
+        }
+
+        private void removeChild(char c) {
+            int at = Arrays.binarySearch(labels, c);
+            if (at < 0) return;
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, at);
+            System.arraycopy(children, 0, newChildren, 0, at);
+            System.arraycopy(labels, at + 1, newLabels, at, labels.length - at - 1);
+            System.arraycopy(children, at + 1, newChildren, at, children.length - at - 1);
+            labels = newLabels;
+            children = newChildren;
+        }
+
+        private void recomputeMax() {
+            int max = 0;
+            if (phrases != null) {
+                for (Phrase p : phrases) max = Math.max(max, p.weight);
+            }
+            for (Node child : children) max = Math.max(max, child.maxWeight);
+            maxWeight = max;
+        }
+    }
+
+    // A single typeahead result
+    public static final class Suggestion {
+        private final String text;
+        private final String type;
+        private final int count;
+
+        public Suggestion(String text, String type, int count) {
+            this.text = text;
+            this.type = type;
+            this.count = count;
+        }
+
+        public String getText() { return text; }
+        public String getType() { return type; }
+        public int getCount() { return count; }
+    }
+}
@@ -0,0 +1,60 @@
+package edu.gct.campusLink.search;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 64-bit SimHash (Charikar): every feature hashes to 64 bits that vote +weight
+ * or -weight per bit position, and the fingerprint keeps the sign of each sum.
+ * Texts that share most of their features end up a few bits apart.
+ */
+public final class SimHash {
+
+    private SimHash() {
+    }
+
+    // Fingerprint of weighted features (feature -> weight)
+    public static long fingerprint(Map<String, Double> features) {
+        double[] votes = new double[64];
+        for (Map.Entry<String, Double> e : features.entrySet()) {
+            long hash = hash64(e.getKey());
+            double weight = e.getValue();
+            for (int bit = 0; bit < 64; bit++) {
+                votes[bit] += ((hash >>> bit) & 1L) != 0 ? weight : -weight;
+            }
+        }
+        long fingerprint = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (votes[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    // Add a field's terms to a feature map, scaled by the field weight
+    public static void addFeatures(Map<String, Double> features, List<String> terms, double weight) {
+        for (String term : terms) {
+            features.merge(term, weight, Double::sum);
+        }
+    }
+
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    // FNV-1a followed by the MurmurHash3 finalizer so every output bit depends on every input char
+    static long hash64(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
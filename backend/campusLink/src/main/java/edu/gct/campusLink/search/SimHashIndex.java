@@ -0,0 +1,93 @@
+package edu.gct.campusLink.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Locality-sensitive lookup of SimHash fingerprints within a group (e.g. one owner).
+ *
+ * Fingerprints are cut into eight 8-bit bands and filed under each band value.
+ * Two fingerprints at most seven bits apart must agree on at least one whole band,
+ * so probing the eight buckets of a query finds every such neighbour; only the
+ * handful of entries in those buckets are compared bit by bit. (Listing texts are
+ * short, so genuine re-uploads land 0-3 bits apart and different books 15+.)
+ */
+public class SimHashIndex {
+
+    // Re-uploads measured 0-3 bits apart and different books 15+; 7 leaves margin on both sides
+    public static final int MAX_DISTANCE = 7;
+    private static final int BANDS = MAX_DISTANCE + 1;
+    private static final int BAND_BITS = 64 / BANDS;
+    private static final int BAND_INDEX_BITS = 3;
+    private static final long BAND_MASK = (1L << BAND_BITS) - 1;
+
+    // bucket key -> {docId, fingerprint} entries
+    private final Map<Long, List<long[]>> buckets = new HashMap<>();
+    // docId -> {group, fingerprint}, needed to unfile a document
+    private final Map<Long, long[]> docs = new HashMap<>();
+
+    public synchronized void put(long docId, long group, long fingerprint) {
+        removeLocked(docId);
+        for (int band = 0; band < BANDS; band++) {
+            buckets.computeIfAbsent(bucketKey(group, band, fingerprint), k -> new ArrayList<>(1))
+                    .add(new long[]{docId, fingerprint});
+        }
+        docs.put(docId, new long[]{group, fingerprint});
+    }
+
+    public synchronized void remove(long docId) {
+        removeLocked(docId);
+    }
+
+    public synchronized void clear() {
+        buckets.clear();
+        docs.clear();
+    }
+
+    public synchronized int size() {
+        return docs.size();
+    }
+
+    // Closest document in the group within MAX_DISTANCE bits (ties go to the lowest id), or -1
+    public synchronized long findNear(long group, long fingerprint, long excludeDocId) {
+        long best = -1;
+        int bestDistance = MAX_DISTANCE + 1;
+        for (int band = 0; band < BANDS; band++) {
+            List<long[]> entries = buckets.get(bucketKey(group, band, fingerprint));
+            if (entries == null) continue;
+            for (long[] entry : entries) {
+                if (entry[0] == excludeDocId) continue;
+                int distance = SimHash.distance(fingerprint, entry[1]);
+                if (distance < bestDistance || (distance == bestDistance && entry[0] < best)) {
+                    best = entry[0];
+                    bestDistance = distance;
+                }
+            }
+        }
+        return best;
+    }
+
+    private void removeLocked(long docId) {
+        long[] doc = docs.remove(docId);
+        if (doc == null) {
+            return;
+        }
+        for (int band = 0; band < BANDS; band++) {
+            long key = bucketKey(doc[0], band, doc[1]);
+            List<long[]> entries = buckets.get(key);
+            if (entries == null) continue;
+            entries.removeIf(entry -> entry[0] == docId);
+            if (entries.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    // group | band index | band value packed into one long
+    private static long bucketKey(long group, int band, long fingerprint) {
+        long value = (fingerprint >>> (band * BAND_BITS)) & BAND_MASK;
+        return (group << (BAND_BITS + BAND_INDEX_BITS)) | ((long) band << BAND_BITS) | value;
+    }
+}
@@ -0,0 +1,110 @@
+package edu.gct.campusLink.search;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Trigram index over a term vocabulary, used to find spelling variants.
+ *
+ * A term within k edits of the query shares at least (grams(query) - 3k) of its
+ * padded trigrams, so only terms that reach that overlap are verified with a
+ * bounded edit distance. Not thread-safe; {@link InvertedIndex} guards it with its own lock.
+ */
+class TrigramIndex {
+
+    private final Map<String, Set<String>> termsByGram = new HashMap<>();
+
+    void add(String term) {
+        for (String gram : grams(term)) {
+            termsByGram.computeIfAbsent(gram, g -> new HashSet<>()).add(term);
+        }
+    }
+
+    void remove(String term) {
+        for (String gram : grams(term)) {
+            Set<String> terms = termsByGram.get(gram);
+            if (terms != null) {
+                terms.remove(term);
+                if (terms.isEmpty()) {
+                    termsByGram.remove(gram);
+                }
+            }
+        }
+    }
+
+    void clear() {
+        termsByGram.clear();
+    }
+
+    // Indexed terms within maxEdits of the given term (including the term itself if present)
+    Set<String> similar(String term, int maxEdits) {
+        Set<String> queryGrams = grams(term);
+        int minShared = queryGrams.size() - 3 * maxEdits;
+
+        Map<String, Integer> shared = new HashMap<>();
+        for (String gram : queryGrams) {
+            Set<String> terms = termsByGram.get(gram);
+            if (terms == null) continue;
+            for (String candidate : terms) {
+                if (Math.abs(candidate.length() - term.length()) <= maxEdits) {
+                    shared.merge(candidate, 1, Integer::sum);
+                }
+            }
+        }
+
+        Set<String> matches = new HashSet<>();
+        for (Map.Entry<String, Integer> e : shared.entrySet()) {
+            if (e.getValue() >= minShared && withinDistance(term, e.getKey(), maxEdits)) {
+                matches.add(e.getKey());
+            }
+        }
+        return matches;
+    }
+
+    // Edits allowed for a query term: short words must match exactly
+    static int maxEditsFor(String term) {
+        int length = term.length();
+        if (length <= 3) return 0;
+        if (length <= 7) return 1;
+        return 2;
+    }
+
+    private static Set<String> grams(String term) {
+        String padded = "$$" + term + "$";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    // Levenshtein distance check that gives up as soon as every cell in a row exceeds the bound
+    static boolean withinDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return false;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return false;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()] <= max;
+    }
+}
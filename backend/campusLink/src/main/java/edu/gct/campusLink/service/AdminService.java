@@ -6,6 +6,7 @@ import edu.gct.campusLink.bean.Review;
 import edu.gct.campusLink.bean.User;
 
 import java.util.List;
+import java.util.Map;
 
 public interface AdminService {
     List<User> getAllUsers();
@@ -16,4 +17,5 @@ public interface AdminService {
     User updateUserRole(Long userId, String role);
     User toggleUserVerification(Long userId);
     void deleteUser(Long userId);
+    List<Map<String, Object>> getCacheStats();
 }
\ No newline at end of file
@@ -4,13 +4,19 @@ import edu.gct.campusLink.bean.Book;
 import edu.gct.campusLink.bean.Review;
 //import edu.gct.campusLink.bean.Transaction;
 import edu.gct.campusLink.bean.User;
+import edu.gct.campusLink.cache.BookCache;
+import edu.gct.campusLink.cache.OffHeapImageCache;
 import edu.gct.campusLink.dao.BookRepository;
 import edu.gct.campusLink.dao.ReviewRepository;
 //import edu.gct.campusLink.dao.TransactionRepository;
 import edu.gct.campusLink.dao.UserRepository;
+import edu.gct.campusLink.event.UserChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class AdminServiceImpl implements AdminService {
@@ -18,16 +24,25 @@ public class AdminServiceImpl implements AdminService {
     private final UserRepository userRepository;
     private final BookRepository bookRepository;
     private final ReviewRepository reviewRepository;
+    private final BookCache bookCache;
+    private final OffHeapImageCache imageCache;
+    private final ApplicationEventPublisher eventPublisher;
     //private final TransactionRepository transactionRepository;
 
     public AdminServiceImpl(UserRepository userRepository,
                             BookRepository bookRepository,
                             //TransactionRepository transactionRepository,
-                            ReviewRepository reviewRepository
+                            ReviewRepository reviewRepository,
+                            BookCache bookCache,
+                            OffHeapImageCache imageCache,
+                            ApplicationEventPublisher eventPublisher
                             ) {
         this.userRepository = userRepository;
         this.bookRepository = bookRepository;
         this.reviewRepository = reviewRepository;
+        this.bookCache = bookCache;
+        this.imageCache = imageCache;
+        this.eventPublisher = eventPublisher;
         //this.transactionRepository = transactionRepository;
     }
 
@@ -53,25 +68,43 @@ public class AdminServiceImpl implements AdminService {
 
     @Override
     public void deleteReview(Long reviewId) {
+        Long sellerId = reviewRepository.findById(reviewId)
+                .map(review -> review.getSeller() != null ? review.getSeller().getId() : null)
+                .orElse(null);
         reviewRepository.deleteById(reviewId);
+        if (sellerId != null) {
+            eventPublisher.publishEvent(new UserChangedEvent(this, sellerId));
+        }
     }
 
     @Override
     public User updateUserRole(Long userId, String role) {
         User user = userRepository.findById(userId).orElseThrow();
         user.setRole(role);
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(this, userId));
+        return saved;
     }
 
     @Override
     public User toggleUserVerification(Long userId) {
         User user = userRepository.findById(userId).orElseThrow();
         user.setIsVerified(!user.getIsVerified());
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(this, userId));
+        return saved;
     }
 
     @Override
     public void deleteUser(Long userId) {
         userRepository.deleteById(userId);
+        eventPublisher.publishEvent(new UserChangedEvent(this, userId));
     }
-}
\ No newline at end of file
+
+    @Override
+    public List<Map<String, Object>> getCacheStats() {
+        List<Map<String, Object>> stats = new ArrayList<>(bookCache.stats());
+        stats.add(imageCache.stats());
+        return stats;
+    }
+}
@@ -0,0 +1,15 @@
+package edu.gct.campusLink.service;
+
+import edu.gct.campusLink.bean.User;
+import edu.gct.campusLink.dto.ImportResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface BookImportService {
+
+    enum Format { CSV, NDJSON }
+
+    // Stream rows from the input, listing every valid one under the given owner
+    ImportResult importBooks(User owner, InputStream input, Format format) throws IOException;
+}
@@ -0,0 +1,333 @@
+package edu.gct.campusLink.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.gct.campusLink.bean.Book;
+import edu.gct.campusLink.bean.User;
+import edu.gct.campusLink.dto.ImportResult;
+import edu.gct.campusLink.event.BookChangedEvent;
+import edu.gct.campusLink.pricing.PriceSuggestionEngine;
+import edu.gct.campusLink.search.DuplicateListingDetector;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk listing import. Rows are read one line at a time, validated, and written
+ * with a multi-row JDBC insert per batch: books use IDENTITY keys, which stops
+ * Hibernate from batching inserts, so this path bypasses JPA. Each committed
+ * batch publishes the usual {@link BookChangedEvent}s and sends wishlist
+ * notifications with a single lookup.
+ */
+@Service
+public class BookImportServiceImpl implements BookImportService {
+
+    private static final int BATCH_SIZE = 200;
+    private static final int MAX_ROWS = 10_000;
+    // The failed count stays exact; only the list of messages is capped
+    private static final int MAX_REPORTED_ERRORS = 500;
+    private static final int MAX_DESCRIPTION_LENGTH = 1000;
+    private static final Set<String> TYPES = Set.of("sale", "exchange", "donate");
+
+    private static final String INSERT_SQL =
+            "INSERT INTO books (title, author, edition, quality, original_price, generated_price, description, " +
+            "type, book_added_time, is_available, user_id, duplicate_of) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final PriceSuggestionEngine priceSuggestions;
+    private final DuplicateListingDetector duplicateDetector;
+    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public BookImportServiceImpl(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 ObjectMapper objectMapper,
+                                 PriceSuggestionEngine priceSuggestions,
+                                 DuplicateListingDetector duplicateDetector,
+                                 NotificationService notificationService,
+                                 ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.priceSuggestions = priceSuggestions;
+        this.duplicateDetector = duplicateDetector;
+        this.notificationService = notificationService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public ImportResult importBooks(User owner, InputStream input, Format format) throws IOException {
+        ImportResult result = new ImportResult();
+        List<Book> batch = new ArrayList<>(BATCH_SIZE);
+        List<Integer> batchRows = new ArrayList<>(BATCH_SIZE);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        List<String> header = null;
+        boolean firstLine = true;
+        int row = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (firstLine && line.startsWith("\uFEFF")) {
+                line = line.substring(1);
+            }
+            firstLine = false;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && header == null) {
+                header = new ArrayList<>();
+                for (String column : parseCsvLine(line)) {
+                    header.add(fieldName(column));
+                }
+                continue;
+            }
+
+            row++;
+            if (row > MAX_ROWS) {
+                reject(result, row, "Imports are limited to " + MAX_ROWS + " rows; the remaining rows were skipped");
+                break;
+            }
+            try {
+                Map<String, String> fields = format == Format.CSV ? csvFields(header, line) : jsonFields(line);
+                batch.add(toBook(fields, owner));
+                batchRows.add(row);
+            } catch (JsonProcessingException e) {
+                reject(result, row, "Invalid JSON: " + e.getOriginalMessage());
+            } catch (IllegalArgumentException e) {
+                reject(result, row, e.getMessage());
+            }
+
+            if (batch.size() == BATCH_SIZE) {
+                flush(batch, batchRows, result);
+            }
+        }
+        flush(batch, batchRows, result);
+        return result;
+    }
+
+    // --- Write one batch, then fan out events and notifications for it ---
+    private void flush(List<Book> batch, List<Integer> batchRows, ImportResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertBatch(batch));
+        } catch (DataAccessException e) {
+            String message = "Batch rejected by the database: " + e.getMostSpecificCause().getMessage();
+            for (int row : batchRows) {
+                reject(result, row, message);
+            }
+            batch.clear();
+            batchRows.clear();
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (Book book : batch) {
+            eventPublisher.publishEvent(BookChangedEvent.saved(this, book));
+            if (book.getDuplicateOf() == null) {
+                ids.add(book.getId());
+            }
+        }
+        notificationService.notifyUsersForBooksAvailability(ids);
+        result.setImported(result.getImported() + batch.size());
+        batch.clear();
+        batchRows.clear();
+    }
+
+    private void insertBatch(List<Book> batch) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Book book : batch) {
+                    ps.setString(1, book.getTitle());
+                    ps.setString(2, book.getAuthor());
+                    ps.setString(3, book.getEdition());
+                    ps.setString(4, book.getQuality());
+                    ps.setDouble(5, book.getOriginalPrice());
+                    ps.setDouble(6, book.getGeneratedPrice());
+                    ps.setString(7, book.getDescription());
+                    ps.setString(8, book.getType());
+                    ps.setTimestamp(9, Timestamp.valueOf(book.getBookAddedTime()));
+                    ps.setBoolean(10, book.isAvailable());
+                    ps.setLong(11, book.getOwner().getId());
+                    if (book.getDuplicateOf() != null) {
+                        ps.setLong(12, book.getDuplicateOf());
+                    } else {
+                        ps.setNull(12, Types.BIGINT);
+                    }
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (Book book : batch) {
+                        if (!keys.next()) {
+                            throw new SQLException("Fewer generated keys than inserted rows");
+                        }
+                        book.setId(keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    // --- Row validation ---
+    private Book toBook(Map<String, String> fields, User owner) {
+        String title = text(fields, "title");
+        if (title == null) {
+            throw new IllegalArgumentException("title is required");
+        }
+        String type = text(fields, "type");
+        type = type == null ? "sale" : type.toLowerCase(Locale.ROOT);
+        if (!TYPES.contains(type)) {
+            throw new IllegalArgumentException("type must be sale, exchange or donate");
+        }
+        String description = text(fields, "description");
+        if (description != null && description.length() > MAX_DESCRIPTION_LENGTH) {
+            throw new IllegalArgumentException("description is longer than " + MAX_DESCRIPTION_LENGTH + " characters");
+        }
+
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor(text(fields, "author"));
+        book.setEdition(text(fields, "edition"));
+        book.setQuality(text(fields, "quality"));
+        book.setDescription(description);
+        book.setType(type);
+        book.setOriginalPrice(price(fields, "originalprice", 0.0));
+        Double generatedPrice = price(fields, "generatedprice", null);
+        book.setGeneratedPrice(generatedPrice != null
+                ? generatedPrice
+                : priceSuggestions.suggest(title, book.getAuthor(), book.getEdition(), book.getQuality(),
+                        book.getOriginalPrice(), type).getPrice());
+        book.setBookAddedTime(LocalDateTime.now());
+        book.setAvailable(true);
+        book.setOwner(owner);
+        book.setDuplicateOf(duplicateDetector.findDuplicate(book));
+        return book;
+    }
+
+    private static String text(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static Double price(Map<String, String> fields, String name, Double fallback) {
+        String value = text(fields, name);
+        if (value == null) {
+            return fallback;
+        }
+        double price;
+        try {
+            price = Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " is not a number: " + value);
+        }
+        if (price < 0 || Double.isNaN(price) || Double.isInfinite(price)) {
+            throw new IllegalArgumentException(name + " must be zero or more");
+        }
+        return price;
+    }
+
+    private static void reject(ImportResult result, int row, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new ImportResult.RowError(row, message));
+        }
+    }
+
+    // --- Line parsing ---
+
+    // "Original Price", "original_price" and "originalPrice" all name the same field
+    private static String fieldName(String name) {
+        return name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+    }
+
+    private Map<String, String> jsonFields(String line) throws JsonProcessingException {
+        JsonNode node = objectMapper.readTree(line);
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("Expected one JSON object per line");
+        }
+        Map<String, String> fields = new HashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> it = node.fields();
+        while (it.hasNext()) {
+            Map.Entry<String, JsonNode> e = it.next();
+            JsonNode value = e.getValue();
+            fields.put(fieldName(e.getKey()), value.isNull() ? null : value.isValueNode() ? value.asText() : value.toString());
+        }
+        return fields;
+    }
+
+    private static Map<String, String> csvFields(List<String> header, String line) {
+        List<String> values = parseCsvLine(line);
+        if (values.size() != header.size()) {
+            throw new IllegalArgumentException("Expected " + header.size() + " columns but found " + values.size());
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            fields.put(header.get(i), values.get(i));
+        }
+        return fields;
+    }
+
+    // RFC 4180 fields on a single line: commas inside quotes are kept and "" is an escaped quote
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        values.add(current.toString());
+        return values;
+    }
+}
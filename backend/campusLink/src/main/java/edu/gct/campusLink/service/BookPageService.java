@@ -0,0 +1,9 @@
+package edu.gct.campusLink.service;
+
+import edu.gct.campusLink.dto.BookPage;
+
+public interface BookPageService {
+
+    // Book, review summary, seller rating and (if userId is given) the user's wishlist / cart state
+    BookPage getBookPage(Long bookId, Long userId);
+}
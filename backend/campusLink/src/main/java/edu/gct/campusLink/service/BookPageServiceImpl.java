@@ -0,0 +1,133 @@
+package edu.gct.campusLink.service;
+
+import edu.gct.campusLink.bean.Book;
+import edu.gct.campusLink.bean.Review;
+import edu.gct.campusLink.bean.User;
+import edu.gct.campusLink.dao.CartRepository;
+import edu.gct.campusLink.dao.ReviewRepository;
+import edu.gct.campusLink.dao.WishlistRepository;
+import edu.gct.campusLink.dto.BookPage;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Builds the book detail page from independent lookups run side by side on a
+ * small bounded pool. The book itself is required and is read on the request
+ * thread while the others run. Every other part has its own timeout and is left
+ * out (and named in {@link BookPage#getMissing()}) if it is slow or fails, rather
+ * than holding up or failing the whole page.
+ */
+@Service
+public class BookPageServiceImpl implements BookPageService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookPageServiceImpl.class);
+
+    private final BookService bookService;
+    private final ReviewRepository reviewRepository;
+    private final WishlistRepository wishlistRepository;
+    private final CartRepository cartRepository;
+    private final ThreadPoolExecutor executor;
+    private final long partTimeoutMs;
+
+    public BookPageServiceImpl(BookService bookService,
+                               ReviewRepository reviewRepository,
+                               WishlistRepository wishlistRepository,
+                               CartRepository cartRepository,
+                               @Value("${app.page.workers:8}") int workers,
+                               @Value("${app.page.queue-capacity:200}") int queueCapacity,
+                               @Value("${app.page.part-timeout-ms:800}") long partTimeoutMs) {
+        this.bookService = bookService;
+        this.reviewRepository = reviewRepository;
+        this.wishlistRepository = wishlistRepository;
+        this.cartRepository = cartRepository;
+        this.partTimeoutMs = partTimeoutMs;
+        AtomicInteger count = new AtomicInteger();
+        // Full queue: the request thread does the lookup itself instead of queueing without bound
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "book-page-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Override
+    public BookPage getBookPage(Long bookId, Long userId) {
+        // --- Fan out: the optional parts start now, the seller part once the book is known ---
+        CompletableFuture<BookPage.ReviewSummary> reviews = part(() -> summarizeReviews(bookId));
+        CompletableFuture<Boolean> inWishlist = userId == null ? null
+                : part(() -> wishlistRepository.existsByUserIdAndBookId(userId, bookId));
+        CompletableFuture<Boolean> inCart = userId == null ? null
+                : part(() -> cartRepository.findByUserIdAndBookId(userId, bookId).isPresent());
+
+        // The book is required, so it is read on the request thread with no part timeout:
+        // its own errors (not found) reach the caller unchanged
+        Book book = bookService.getBookById(bookId);
+        CompletableFuture<BookPage.SellerSummary> seller = part(() -> summarizeSeller(book));
+
+        // --- Gather ---
+        BookPage page = new BookPage();
+        page.setBook(book);
+        page.setReviews(await("reviews", reviews, page));
+        page.setSeller(await("seller", seller, page));
+        if (userId != null) {
+            page.setInWishlist(await("inWishlist", inWishlist, page));
+            page.setInCart(await("inCart", inCart, page));
+        }
+        return page;
+    }
+
+    private <T> CompletableFuture<T> part(Supplier<T> lookup) {
+        return CompletableFuture.supplyAsync(lookup, executor).orTimeout(partTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    // Result of an optional part, or null (noted in the page) if it failed or timed out
+    private <T> T await(String name, CompletableFuture<T> part, BookPage page) {
+        try {
+            return part.join();
+        } catch (CompletionException e) {
+            log.warn("Book page part '{}' left out: {}", name, e.getCause() != null ? e.getCause().toString() : e.toString());
+            page.getMissing().add(name);
+            return null;
+        }
+    }
+
+    private BookPage.ReviewSummary summarizeReviews(Long bookId) {
+        Object[] row = reviewRepository.summarizeByBookId(bookId).get(0);
+        List<Review> recent = reviewRepository.findTop5ByBookIdOrderByTimestampDesc(bookId);
+        return new BookPage.ReviewSummary(((Number) row[0]).longValue(), average(row[1]), recent);
+    }
+
+    private BookPage.SellerSummary summarizeSeller(Book book) {
+        User owner = book.getOwner();
+        if (owner == null) {
+            return null;
+        }
+        Object[] row = reviewRepository.summarizeBySellerId(owner.getId()).get(0);
+        return new BookPage.SellerSummary(owner.getId(), owner.getName(), owner.getRating(),
+                ((Number) row[0]).longValue(), average(row[1]));
+    }
+
+    private static Double average(Object value) {
+        return value == null ? null : ((Number) value).doubleValue();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -1,34 +1,87 @@
 package edu.gct.campusLink.service;
 
 import edu.gct.campusLink.bean.Book;
+import edu.gct.campusLink.dto.BookListingDTO;
+import edu.gct.campusLink.dto.CursorPage;
+import edu.gct.campusLink.dto.FacetedPage;
+import edu.gct.campusLink.dto.PriceSuggestion;
+import edu.gct.campusLink.dto.PublishStatus;
+import edu.gct.campusLink.search.PrefixSuggester;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 public interface BookService {
 
     // Add a new book (with or without image)
     Book addBook(Book book);
 
+    // Save a new listing and publish it (image, indexes, notifications) in the background
+    Book publishBook(Book book, MultipartFile image) throws IOException;
+
+    // Progress of a listing through the publishing pipeline
+    PublishStatus getPublishStatus(Long id);
+
     // Update an existing book
     Book updateBook(Long id, Book book);
 
+    // Apply a JSON merge patch: only the fields present change, null clears an optional field
+    Book patchBook(Long id, Map<String, Object> patch);
+
     // Delete a book by ID
     void deleteBook(Long id);
 
     // Get book by ID
     Book getBookById(Long id);
 
+    // Books for these ids in the order given (sold and archived ones included, unknown ids skipped)
+    List<Book> getBooksByIds(List<Long> ids);
+
     // Get all available books
     List<Book> getAllAvailableBooks();
 
+    // Page through available books, newest first (cursor = null for the first page)
+    CursorPage<BookListingDTO> getAvailableBooks(String cursor, int limit);
+
     // Search available books by keyword (title, author, edition, quality, type, etc.)
     List<Book> searchAvailableBooks(String query);
 
-    // Get all books uploaded by a specific user
-    List<Book> getBooksByUser(Long userId);
+    // Search available books; in fuzzy mode each word also matches close misspellings
+    List<Book> searchAvailableBooks(String query, boolean fuzzy);
+
+    // Page through search results, most relevant first
+    CursorPage<BookListingDTO> searchAvailableBooks(String query, boolean fuzzy, String cursor, int limit);
+
+    // Books most often wanted by the same users as this one, most similar first
+    List<BookListingDTO> getSimilarBooks(Long bookId, int limit);
+
+    // Count a view of a book's detail page towards its trending score
+    void recordView(Long bookId);
+
+    // Books with the most recent views, wishlist and cart adds, hottest first
+    List<BookListingDTO> getTrendingBooks(int limit);
+
+    // Available books within radiusMeters of a point, nearest first
+    CursorPage<BookListingDTO> getBooksNear(double lat, double lon, double radiusMeters, String cursor, int limit);
+
+    // Typeahead: title and author completions for a prefix, weighted by number of listings
+    List<PrefixSuggester.Suggestion> suggest(String prefix, int limit);
+
+    // Page through books uploaded by a specific user, newest first
+    CursorPage<BookListingDTO> getBooksByUser(Long userId, String cursor, int limit);
 
     // Filter books by type (sale / exchange / donate)
     List<Book> getBooksByType(String type);
 
-    // Get recently added books (sorted by bookAddedTime)
-    List<Book> getRecentBooks();
+    // Filter available books by facet (type, quality, edition, price), newest first, with per-value counts
+    FacetedPage<BookListingDTO> filterBooks(Map<String, List<String>> filters, String cursor, int limit);
+
+    // Get the most recently added available books (sorted by bookAddedTime)
+    List<BookListingDTO> getRecentBooks(int limit);
+
+    // Suggested listing price from original price, condition and past sales of the same title
+    PriceSuggestion suggestPrice(String title, String author, String edition, String quality,
+                                 double originalPrice, String type);
 }
@@ -1,33 +1,151 @@
 package edu.gct.campusLink.service;
 
+import edu.gct.campusLink.archive.ArchivedBooks;
 import edu.gct.campusLink.bean.Book;
+import edu.gct.campusLink.cache.BookCache;
+import edu.gct.campusLink.cache.BoundedCache;
+import edu.gct.campusLink.cache.CatalogVersion;
 import edu.gct.campusLink.dao.BookRepository;
+import edu.gct.campusLink.dto.BookListingDTO;
+import edu.gct.campusLink.dto.CursorPage;
+import edu.gct.campusLink.dto.FacetedPage;
+import edu.gct.campusLink.dto.InvalidRequestException;
+import edu.gct.campusLink.dto.PageCursor;
+import edu.gct.campusLink.dto.PriceSuggestion;
+import edu.gct.campusLink.dto.PublishStatus;
+import edu.gct.campusLink.event.BookChangedEvent;
+import edu.gct.campusLink.pricing.PriceSuggestionEngine;
+import edu.gct.campusLink.publish.ListingPipeline;
+import edu.gct.campusLink.recommend.SimilarBooks;
+import edu.gct.campusLink.recommend.TrendingBooks;
+import edu.gct.campusLink.search.BookFacetIndex;
+import edu.gct.campusLink.search.BookGeoIndex;
+import edu.gct.campusLink.search.BookSearchIndex;
+import edu.gct.campusLink.search.DuplicateListingDetector;
+import edu.gct.campusLink.search.GeoIndex;
+import edu.gct.campusLink.search.InvertedIndex;
+import edu.gct.campusLink.search.PrefixSuggester;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class BookServiceImpl implements BookService {
 
+    // Upper bound on ranked search results returned in one call
+    private static final int SEARCH_LIMIT = 200;
+    // Upper bound on matches a paged search walks through
+    private static final int SEARCH_MATCH_LIMIT = 1000;
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final double MAX_RADIUS_METERS = 50_000;
+    private static final int MAX_BATCH_IDS = 100;
+
     private final BookRepository bookRepository;
     private final NotificationService notificationService;
+    private final BookSearchIndex searchIndex;
+    private final BookFacetIndex facetIndex;
+    private final BookGeoIndex geoIndex;
+    private final DuplicateListingDetector duplicateDetector;
+    private final SimilarBooks similarBooks;
+    private final TrendingBooks trendingBooks;
+    private final BookCache bookCache;
+    private final PriceSuggestionEngine priceSuggestions;
+    private final ListingPipeline listingPipeline;
+    private final ArchivedBooks archivedBooks;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogVersion catalogVersion;
+
+    // Ranked ids of recent searches, by catalog version, fuzziness and query
+    private final BoundedCache<String, long[]> searchRankings = new BoundedCache<>("searchRankings", 500, 600);
 
     public BookServiceImpl(BookRepository bookRepository,
-                           NotificationService notificationService) {
+                           NotificationService notificationService,
+                           BookSearchIndex searchIndex,
+                           BookFacetIndex facetIndex,
+                           BookGeoIndex geoIndex,
+                           DuplicateListingDetector duplicateDetector,
+                           SimilarBooks similarBooks,
+                           TrendingBooks trendingBooks,
+                           BookCache bookCache,
+                           PriceSuggestionEngine priceSuggestions,
+                           ListingPipeline listingPipeline,
+                           ArchivedBooks archivedBooks,
+                           ApplicationEventPublisher eventPublisher,
+                           CatalogVersion catalogVersion) {
         this.bookRepository = bookRepository;
         this.notificationService = notificationService;
+        this.searchIndex = searchIndex;
+        this.facetIndex = facetIndex;
+        this.geoIndex = geoIndex;
+        this.duplicateDetector = duplicateDetector;
+        this.similarBooks = similarBooks;
+        this.trendingBooks = trendingBooks;
+        this.bookCache = bookCache;
+        this.priceSuggestions = priceSuggestions;
+        this.listingPipeline = listingPipeline;
+        this.archivedBooks = archivedBooks;
+        this.eventPublisher = eventPublisher;
+        this.catalogVersion = catalogVersion;
     }
 
     // --- Add new book ---
     @Override
     public Book addBook(Book book) {
+        book.setDuplicateOf(duplicateDetector.findDuplicate(book));
         Book savedBook = bookRepository.save(book);
-        if (savedBook.isAvailable()) {
+        eventPublisher.publishEvent(BookChangedEvent.saved(this, savedBook));
+        // Wishlisters already heard about the original listing
+        if (savedBook.isAvailable() && savedBook.getDuplicateOf() == null) {
             notificationService.notifyUsersForBookAvailability(savedBook.getId());
         }
         return savedBook;
     }
 
+    // --- Add new book, returning once the row exists; the pipeline does the rest ---
+    @Override
+    public Book publishBook(Book book, MultipartFile image) throws IOException {
+        Path stagedImage = listingPipeline.stageImage(image);
+        Book savedBook;
+        try {
+            book.setDuplicateOf(duplicateDetector.findDuplicate(book));
+            savedBook = bookRepository.save(book);
+        } catch (RuntimeException e) {
+            // The listing was never saved, so nothing will ever move the staged cover into place
+            listingPipeline.discardStaged(stagedImage);
+            throw e;
+        }
+        listingPipeline.submit(savedBook, stagedImage);
+        return savedBook;
+    }
+
+    @Override
+    public PublishStatus getPublishStatus(Long id) {
+        PublishStatus status = listingPipeline.status(id);
+        if (status != null) {
+            return status;
+        }
+        // Not tracked (any more): an existing book went through long ago
+        if (!bookRepository.existsById(id)) {
+            throw new RuntimeException("Book not found with id: " + id);
+        }
+        return new PublishStatus(id, PublishStatus.Stage.PUBLISHED);
+    }
+
     // --- Update book details ---
     @Override
     public Book updateBook(Long id, Book updatedBook) {
@@ -47,9 +165,24 @@ public class BookServiceImpl implements BookService {
         book.setDescription(updatedBook.getDescription());
         book.setType(updatedBook.getType());
         book.setAvailable(nowAvailable);
-        book.setBookImage(updatedBook.getBookImage());
+        if (wasUnavailable && nowAvailable) {
+            // Relisted: no longer sold, so the archiver must leave it alone
+            book.setSoldTime(null);
+        }
+        if (!Objects.equals(book.getBookImage(), updatedBook.getBookImage())) {
+            // The resized copies belong to the old picture
+            book.setBookImage(updatedBook.getBookImage());
+            book.setBookImageGrid(null);
+            book.setBookImageDetail(null);
+        }
+        // Coordinates are optional; clients that don't send them keep the stored location
+        if (updatedBook.getLatitude() != null && updatedBook.getLongitude() != null) {
+            book.setLatitude(updatedBook.getLatitude());
+            book.setLongitude(updatedBook.getLongitude());
+        }
 
         Book savedBook = bookRepository.save(book);
+        eventPublisher.publishEvent(BookChangedEvent.saved(this, savedBook));
 
         if (wasUnavailable && nowAvailable) {
             notificationService.notifyUsersForBookAvailability(savedBook.getId());
@@ -58,46 +191,413 @@ public class BookServiceImpl implements BookService {
         return savedBook;
     }
 
+    // --- Partial update: only changed columns are written (Book is @DynamicUpdate) ---
+    @Override
+    public Book patchBook(Long id, Map<String, Object> patch) {
+        Book book = bookRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Book not found with id: " + id));
+
+        // Check every field before touching the managed entity, so a bad request changes nothing
+        List<BooleanSupplier> updates = new ArrayList<>(patch.size());
+        for (Map.Entry<String, Object> field : patch.entrySet()) {
+            updates.add(patchOf(book, field.getKey(), field.getValue()));
+        }
+        Double latitude = patch.containsKey("latitude") ? patchNumber("latitude", patch.get("latitude")) : book.getLatitude();
+        Double longitude = patch.containsKey("longitude") ? patchNumber("longitude", patch.get("longitude")) : book.getLongitude();
+        if ((latitude != null || longitude != null) && !BookGeoIndex.isValid(latitude, longitude)) {
+            throw new InvalidRequestException("latitude and longitude must be set together and in range");
+        }
+
+        boolean wasAvailable = book.isAvailable();
+        boolean changed = false;
+        for (BooleanSupplier update : updates) {
+            changed |= update.getAsBoolean();
+        }
+        if (!changed) {
+            return book;
+        }
+        if (!wasAvailable && book.isAvailable()) {
+            // Relisted: no longer sold, so the archiver must leave it alone
+            book.setSoldTime(null);
+        }
+
+        Book savedBook = bookRepository.save(book);
+        eventPublisher.publishEvent(BookChangedEvent.saved(this, savedBook));
+
+        if (!wasAvailable && savedBook.isAvailable()) {
+            notificationService.notifyUsersForBookAvailability(savedBook.getId());
+        }
+        return savedBook;
+    }
+
+    // Validate one patched field; the returned update sets it and reports whether its value changed
+    private static BooleanSupplier patchOf(Book book, String field, Object value) {
+        switch (field) {
+            case "title": {
+                String title = patchText(field, value);
+                if (title == null || title.isBlank()) {
+                    throw new InvalidRequestException("title cannot be empty");
+                }
+                return () -> patch(book.getTitle(), title, book::setTitle);
+            }
+            case "author": {
+                String author = patchText(field, value);
+                return () -> patch(book.getAuthor(), author, book::setAuthor);
+            }
+            case "edition": {
+                String edition = patchText(field, value);
+                return () -> patch(book.getEdition(), edition, book::setEdition);
+            }
+            case "quality": {
+                String quality = patchText(field, value);
+                return () -> patch(book.getQuality(), quality, book::setQuality);
+            }
+            case "description": {
+                String description = patchText(field, value);
+                return () -> patch(book.getDescription(), description, book::setDescription);
+            }
+            case "type": {
+                String type = patchText(field, value);
+                return () -> patch(book.getType(), type, book::setType);
+            }
+            case "bookImage": {
+                String image = patchText(field, value);
+                return () -> {
+                    boolean replaced = patch(book.getBookImage(), image, book::setBookImage);
+                    if (replaced) {
+                        // The resized copies belong to the old picture
+                        book.setBookImageGrid(null);
+                        book.setBookImageDetail(null);
+                    }
+                    return replaced;
+                };
+            }
+            case "originalPrice": {
+                Double price = patchPrice(field, value);
+                return () -> patch(book.getOriginalPrice(), price, book::setOriginalPrice);
+            }
+            case "generatedPrice": {
+                Double price = patchPrice(field, value);
+                return () -> patch(book.getGeneratedPrice(), price, book::setGeneratedPrice);
+            }
+            case "available": {
+                if (!(value instanceof Boolean flag)) {
+                    throw new InvalidRequestException("available must be true or false");
+                }
+                return () -> patch(book.isAvailable(), flag, book::setAvailable);
+            }
+            case "latitude": {
+                Double latitude = patchNumber(field, value);
+                return () -> patch(book.getLatitude(), latitude, book::setLatitude);
+            }
+            case "longitude": {
+                Double longitude = patchNumber(field, value);
+                return () -> patch(book.getLongitude(), longitude, book::setLongitude);
+            }
+            default: throw new InvalidRequestException("Field cannot be patched: " + field);
+        }
+    }
+
+    private static <T> boolean patch(T current, T value, Consumer<T> setter) {
+        if (Objects.equals(current, value)) {
+            return false;
+        }
+        setter.accept(value);
+        return true;
+    }
+
+    private static String patchText(String field, Object value) {
+        if (value != null && !(value instanceof String)) {
+            throw new InvalidRequestException(field + " must be a string");
+        }
+        return (String) value;
+    }
+
+    private static Double patchNumber(String field, Object value) {
+        if (value != null && !(value instanceof Number)) {
+            throw new InvalidRequestException(field + " must be a number");
+        }
+        return value == null ? null : ((Number) value).doubleValue();
+    }
+
+    private static Double patchPrice(String field, Object value) {
+        Double price = patchNumber(field, value);
+        if (price == null || price < 0) {
+            throw new InvalidRequestException(field + " must be a non-negative number");
+        }
+        return price;
+    }
+
     // --- Delete book ---
     @Override
     public void deleteBook(Long id) {
         bookRepository.deleteById(id);
+        eventPublisher.publishEvent(BookChangedEvent.deleted(this, id));
     }
 
     // --- Get book by ID ---
     @Override
     public Book getBookById(Long id) {
-        return bookRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Book not found with id: " + id));
+        Book book = bookCache.getBook(id, key -> bookRepository.findById(key).orElse(null));
+        if (book == null) {
+            throw new RuntimeException("Book not found with id: " + id);
+        }
+        return book;
+    }
+
+    // --- Batch lookup: cache first, one IN query for the rest, archive only for leftovers ---
+    @Override
+    public List<Book> getBooksByIds(List<Long> ids) {
+        if (ids.size() > MAX_BATCH_IDS) {
+            throw new InvalidRequestException("At most " + MAX_BATCH_IDS + " ids per request");
+        }
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        distinct.remove(null);
+        if (distinct.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Book> byId = new HashMap<>(bookCache.getBooks(distinct, bookRepository::findWithOwnerByIdIn));
+        if (byId.size() < distinct.size()) {
+            List<Long> missing = distinct.stream().filter(id -> !byId.containsKey(id)).collect(Collectors.toList());
+            for (Book book : archivedBooks.findAll(missing)) {
+                byId.put(book.getId(), book);
+            }
+        }
+
+        List<Book> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Book book = byId.get(id);
+            if (book != null) {
+                ordered.add(book);
+            }
+        }
+        return ordered;
     }
 
     // --- Get all available books ---
     @Override
     public List<Book> getAllAvailableBooks() {
-        return bookRepository.findByIsAvailableTrue();
+        return bookCache.getListing("available", bookRepository::findByIsAvailableTrue);
+    }
+
+    // --- Keyset page of available books ---
+    @Override
+    public CursorPage<BookListingDTO> getAvailableBooks(String cursor, int limit) {
+        PageCursor after = PageCursor.parse(cursor);
+        return bookCache.getListing("page:" + cursor + ":" + limit, () -> {
+            PageRequest page = PageRequest.of(0, limit + 1);
+            List<BookListingDTO> rows = after == null
+                    ? bookRepository.findRecentListings(page)
+                    : bookRepository.findAvailableListingsAfter(after.getTime(), after.getId(), page);
+            return listingPage(rows, limit);
+        });
     }
 
     // --- Search books ---
     @Override
     public List<Book> searchAvailableBooks(String query) {
-        return bookRepository.searchAvailable(query);
+        return searchAvailableBooks(query, false);
+    }
+
+    @Override
+    public List<Book> searchAvailableBooks(String query, boolean fuzzy) {
+        if (query == null || query.isBlank()) {
+            return getAllAvailableBooks();
+        }
+        // Fall back to the LIKE query only while the index is still being built
+        if (!searchIndex.isReady()) {
+            return bookRepository.searchAvailable(query);
+        }
+        List<Long> ids = fuzzy
+                ? searchIndex.searchFuzzy(query, SEARCH_LIMIT)
+                : searchIndex.search(query, SEARCH_LIMIT);
+        return loadInOrder(ids);
+    }
+
+    // --- Page of search results, best match first ---
+    @Override
+    public CursorPage<BookListingDTO> searchAvailableBooks(String query, boolean fuzzy, String cursor, int limit) {
+        if (query == null || query.isBlank()) {
+            return getAvailableBooks(cursor, limit);
+        }
+        // Later pages walk the ranking the first page came from, so results neither repeat nor get
+        // skipped as scores shift. Once that ranking has expired the current one stands in (best effort).
+        PageCursor after = PageCursor.parse(cursor);
+        long version = after == null ? catalogVersion.current() : after.getRankVersion();
+        String key = version + ":" + fuzzy + ":" + query;
+        long[] ranking = searchRankings.getIfPresent(key);
+        if (ranking == null) {
+            boolean indexed = searchIndex.isReady();
+            ranking = rank(query, fuzzy, indexed);
+            if (indexed) {
+                searchRankings.put(key, ranking);
+            }
+        }
+
+        int from = after == null ? 0 : Math.min(after.getRankPosition(), ranking.length);
+        int to = Math.min(ranking.length, from + limit);
+        List<Long> ids = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            ids.add(ranking[i]);
+        }
+        String next = to < ranking.length ? PageCursor.ofRank(version, to) : null;
+        return new CursorPage<>(loadListingsInOrder(ids), next, limit);
+    }
+
+    // Ids of every match (up to SEARCH_MATCH_LIMIT), best first; the LIKE query only while the index is being built
+    private long[] rank(String query, boolean fuzzy, boolean indexed) {
+        if (!indexed) {
+            return bookRepository.searchAvailable(query).stream()
+                    .limit(SEARCH_MATCH_LIMIT)
+                    .mapToLong(Book::getId)
+                    .toArray();
+        }
+        return searchIndex.hits(query, fuzzy, SEARCH_MATCH_LIMIT).stream()
+                .mapToLong(InvertedIndex.Hit::getDocId)
+                .toArray();
+    }
+
+    // --- Item-item neighbours from the in-memory similarity lists ---
+    @Override
+    public List<BookListingDTO> getSimilarBooks(Long bookId, int limit) {
+        // Ask for the full list: sold neighbours are dropped when loading
+        List<BookListingDTO> rows = loadListingsInOrder(similarBooks.similar(bookId, SimilarBooks.TOP_K));
+        return rows.size() > limit ? rows.subList(0, limit) : rows;
+    }
+
+    // --- Trending ranking, served from memory ---
+    @Override
+    public void recordView(Long bookId) {
+        trendingBooks.recordView(bookId);
+    }
+
+    @Override
+    public List<BookListingDTO> getTrendingBooks(int limit) {
+        return trendingBooks.top(limit);
+    }
+
+    // --- Proximity listing from the geohash index, nearest first ---
+    @Override
+    public CursorPage<BookListingDTO> getBooksNear(double lat, double lon, double radiusMeters, String cursor, int limit) {
+        if (!BookGeoIndex.isValid(lat, lon)) {
+            throw new InvalidRequestException("Invalid coordinates: " + lat + "," + lon);
+        }
+        PageCursor after = PageCursor.parse(cursor);
+        double radius = Math.min(Math.max(radiusMeters, 0), MAX_RADIUS_METERS);
+        List<GeoIndex.Nearby> window = geoIndex.near(lat, lon, radius,
+                after == null ? null : new GeoIndex.Nearby(after.getId(), after.getDistance()), limit + 1);
+        boolean more = window.size() > limit;
+        List<GeoIndex.Nearby> nearby = more ? window.subList(0, limit) : window;
+
+        List<Long> ids = new ArrayList<>(nearby.size());
+        Map<Long, Double> distances = new HashMap<>();
+        for (GeoIndex.Nearby hit : nearby) {
+            ids.add(hit.getDocId());
+            distances.put(hit.getDocId(), (double) Math.round(hit.getDistanceMeters()));
+        }
+        List<BookListingDTO> items = loadListingsInOrder(ids);
+        for (BookListingDTO item : items) {
+            item.setDistanceMeters(distances.get(item.getId()));
+        }
+        // From the window, so books sold since they were indexed don't end the listing early
+        GeoIndex.Nearby last = more ? nearby.get(limit - 1) : null;
+        String next = last != null ? PageCursor.ofDistance(last.getDistanceMeters(), last.getDocId()) : null;
+        return new CursorPage<>(items, next, limit);
+    }
+
+    // --- Typeahead suggestions ---
+    @Override
+    public List<PrefixSuggester.Suggestion> suggest(String prefix, int limit) {
+        return searchIndex.suggest(prefix, Math.min(Math.max(limit, 1), MAX_SUGGESTIONS));
     }
 
     // --- Get books added by a user ---
     @Override
-    public List<Book> getBooksByUser(Long userId) {
-        return bookRepository.findByOwnerId(userId);
+    public CursorPage<BookListingDTO> getBooksByUser(Long userId, String cursor, int limit) {
+        PageCursor after = PageCursor.parse(cursor);
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<BookListingDTO> rows = after == null
+                ? bookRepository.findListingsByOwner(userId, page)
+                : bookRepository.findListingsByOwnerAfter(userId, after.getTime(), after.getId(), page);
+        return listingPage(rows, limit);
     }
 
     // --- Get books by type (sale, exchange, donate) ---
     @Override
     public List<Book> getBooksByType(String type) {
-        return bookRepository.findByType(type);
+        BookFacetIndex.Result result = facetIndex.filter(Map.of(BookFacetIndex.TYPE, List.of(type)));
+        return loadInOrder(result.idsBefore(Long.MAX_VALUE, result.total()));
+    }
+
+    // --- Faceted filtering from the in-memory bitmaps ---
+    @Override
+    public FacetedPage<BookListingDTO> filterBooks(Map<String, List<String>> filters, String cursor, int limit) {
+        BookFacetIndex.Result result = facetIndex.filter(filters);
+        PageCursor after = PageCursor.parse(cursor);
+
+        List<Long> ids = result.idsBefore(after == null ? Long.MAX_VALUE : after.getId(), limit + 1);
+        boolean more = ids.size() > limit;
+        List<BookListingDTO> items = loadListingsInOrder(more ? ids.subList(0, limit) : ids);
+
+        // From the window, not the rows kept: if every book in it was sold meanwhile the next page still follows
+        String next = more ? PageCursor.ofId(ids.get(limit - 1)) : null;
+        return new FacetedPage<>(items, next, limit, result.total(), result.getCounts());
     }
 
     // --- Get recently added available books ---
     @Override
-    public List<Book> getRecentBooks() {
-        return bookRepository.findRecentBooks();
+    public List<BookListingDTO> getRecentBooks(int limit) {
+        return bookCache.getListing("recent:" + limit, () -> bookRepository.findRecentListings(PageRequest.of(0, limit)));
+    }
+
+    // --- Price suggestion from condition and sales history ---
+    @Override
+    public PriceSuggestion suggestPrice(String title, String author, String edition, String quality,
+                                        double originalPrice, String type) {
+        return priceSuggestions.suggest(title, author, edition, quality, originalPrice, type);
+    }
+
+    // Trim the extra look-ahead row and derive the next cursor from the last row kept
+    private static CursorPage<BookListingDTO> listingPage(List<BookListingDTO> rows, int limit) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null, limit);
+        }
+        List<BookListingDTO> items = rows.subList(0, limit);
+        BookListingDTO last = items.get(limit - 1);
+        return new CursorPage<>(items, PageCursor.of(last.getBookAddedTime(), last.getId()), limit);
+    }
+
+    // Load books by id, keeping the given (relevance) order and skipping anything no longer available
+    private List<Book> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Book> byId = bookRepository.findWithOwnerByIdIn(ids).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        List<Book> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Book book = byId.get(id);
+            if (book != null && book.isAvailable()) {
+                ordered.add(book);
+            }
+        }
+        return ordered;
+    }
+
+    // Same as loadInOrder, but as listing rows fetched with a single projection query
+    private List<BookListingDTO> loadListingsInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, BookListingDTO> byId = bookRepository.findListingsByIdIn(ids).stream()
+                .collect(Collectors.toMap(BookListingDTO::getId, Function.identity()));
+        List<BookListingDTO> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            BookListingDTO row = byId.get(id);
+            if (row != null && row.isAvailable()) {
+                ordered.add(row);
+            }
+        }
+        return ordered;
     }
 }
@@ -3,9 +3,12 @@ package edu.gct.campusLink.service;
 import edu.gct.campusLink.bean.Book;
 import edu.gct.campusLink.bean.CartItem;
 import edu.gct.campusLink.bean.User;
+import edu.gct.campusLink.cache.BookAvailability;
 import edu.gct.campusLink.dao.BookRepository;
 import edu.gct.campusLink.dao.CartRepository;
 import edu.gct.campusLink.dao.UserRepository;
+import edu.gct.campusLink.event.BookInterestEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,20 +19,37 @@ public class CartService {
     private final CartRepository cartRepository;
     private final UserRepository userRepository;
     private final BookRepository bookRepository;
+    private final BookAvailability availability;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CartService(CartRepository cartRepository, UserRepository userRepository, BookRepository bookRepository) {
+    public CartService(CartRepository cartRepository, UserRepository userRepository, BookRepository bookRepository,
+                       BookAvailability availability, ApplicationEventPublisher eventPublisher) {
         this.cartRepository = cartRepository;
         this.userRepository = userRepository;
         this.bookRepository = bookRepository;
+        this.availability = availability;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<CartItem> getCartByUser(Long userId) {
         return cartRepository.findByUserId(userId);
     }
 
+    public List<Long> getCartBookIds(Long userId) {
+        return cartRepository.findBookIdsByUserId(userId);
+    }
+
     @Transactional
     public CartItem addToCart(Long userId, Long bookId) {
 
+        // Reject from the in-memory bitmap before touching the database
+        if (availability.ownerOf(bookId) == userId) {
+            throw new RuntimeException("Cannot add your own book to cart");
+        }
+        if (availability.isKnownUnavailable(bookId)) {
+            throw new RuntimeException("Book is no longer available");
+        }
+
         if (cartRepository.findByUserIdAndBookId(userId, bookId).isPresent()) {
             throw new RuntimeException("Book already exists in cart!");
         }
@@ -39,13 +59,18 @@ public class CartService {
         if (book.getOwner() != null && book.getOwner().getId().equals(userId)) {
             throw new RuntimeException("Cannot add your own book to cart");
         }
+        if (!book.isAvailable()) {
+            throw new RuntimeException("Book is no longer available");
+        }
 
         // don't add if already in cart — increment quantity if you want
         CartItem item = new CartItem();
         item.setUser(user);
         item.setBook(book);
 
-        return cartRepository.save(item);
+        CartItem saved = cartRepository.save(item);
+        eventPublisher.publishEvent(BookInterestEvent.of(this, BookInterestEvent.Kind.CARTED, userId, bookId));
+        return saved;
 
     }
 
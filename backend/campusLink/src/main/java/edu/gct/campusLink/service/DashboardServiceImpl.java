@@ -1,5 +1,6 @@
 package edu.gct.campusLink.service;
 
+import edu.gct.campusLink.dao.ArchivedBookRepository;
 import edu.gct.campusLink.dao.BookRepository;
 import edu.gct.campusLink.dao.ReviewRepository;
 import edu.gct.campusLink.dao.UserRepository;
@@ -15,20 +16,23 @@ public class DashboardServiceImpl implements DashboardService {
     private final UserRepository userRepository;
     private final BookRepository bookRepository;
     private final ReviewRepository reviewRepository;
+    private final ArchivedBookRepository archivedBookRepository;
 
     public DashboardServiceImpl(UserRepository userRepository,
                                 BookRepository bookRepository,
-                                ReviewRepository reviewRepository) {
+                                ReviewRepository reviewRepository,
+                                ArchivedBookRepository archivedBookRepository) {
         this.userRepository = userRepository;
         this.bookRepository = bookRepository;
         this.reviewRepository = reviewRepository;
+        this.archivedBookRepository = archivedBookRepository;
     }
 
     @Override
     public Map<String, Long> getSummaryStats() {
         Map<String, Long> stats = new HashMap<>();
         stats.put("totalUsers", userRepository.count());
-        stats.put("totalBooks", bookRepository.count());
+        stats.put("totalBooks", bookRepository.count() + archivedBookRepository.count());
         stats.put("totalReviews", reviewRepository.count());
         return stats;
     }
@@ -2,7 +2,13 @@ package edu.gct.campusLink.service;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.file.Path;
+
 public interface ImageStorageService {
     String storeImage(MultipartFile file, String folder);
-    byte[] loadImage(String filename, String folder);
+    // Location of a stored image, for streaming; never read it whole onto the heap.
+    // Null when the name is invalid or nothing is stored under it.
+    Path locateImage(String filename, String folder);
+    // True for content-addressed names, whose bytes never change; false for pre-hash uploads
+    boolean isStoredName(String filename);
 }
\ No newline at end of file
@@ -1,37 +1,135 @@
 package edu.gct.campusLink.service;
 
+import edu.gct.campusLink.image.ImageFiles;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
 
+/**
+ * Content-addressed image store. A file is named after the SHA-256 of its bytes and
+ * kept at {root}/{folder}/ab/cd/{hash}.{ext}, so identical uploads share one file and
+ * a stored name never points at different content (safe to cache forever). Only
+ * JPEG, PNG, GIF and WebP files are accepted, recognised by their leading bytes.
+ *
+ * The two-level fan-out keeps directories small; callers only ever see
+ * "{hash}.{ext}", and the shard directories are derived from it.
+ *
+ * Images uploaded before content addressing still sit at {root}/{folder}/{originalFilename}.
+ * They stay readable under their old names, but nothing new is ever written there.
+ */
 @Service
 public class ImageStorageServiceImpl implements ImageStorageService {
 
-    private final Path rootLocation = Paths.get("uploads");
+    private static final Pattern FOLDER = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final Pattern STORED_NAME = Pattern.compile("[0-9a-f]{64}\\.(jpg|png|gif|webp)");
+    // Pre-hash uploads kept the client's file name: one path segment, no dotfiles
+    private static final Pattern LEGACY_NAME = Pattern.compile("[^./\\\\\\x00][^/\\\\\\x00]{0,254}");
+
+    private final Path rootLocation;
+    private final Path tempDir;
+
+    public ImageStorageServiceImpl(@Value("${app.file.upload-dir:uploads}") String uploadDir) {
+        this.rootLocation = Paths.get(uploadDir);
+        this.tempDir = rootLocation.resolve(".incoming");
+    }
 
     @Override
     public String storeImage(MultipartFile file, String folder) {
+        checkFolder(folder);
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("No image uploaded");
+        }
+        Path temp = null;
         try {
-            String filename = StringUtils.cleanPath(file.getOriginalFilename());
-            Path destination = rootLocation.resolve(folder).resolve(filename);
+            // Hash while copying, so the upload is read once
+            Files.createDirectories(tempDir);
+            temp = Files.createTempFile(tempDir, "upload", ".tmp");
+            MessageDigest digest = ImageFiles.sha256();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            // The type comes from the bytes alone, so nothing but a plain picture is ever served from here
+            String extension = ImageFiles.sniffExtension(temp);
+            if (extension == null) {
+                throw new IllegalArgumentException("Only JPEG, PNG, GIF or WebP images can be uploaded");
+            }
+            String filename = HexFormat.of().formatHex(digest.digest()) + "." + extension;
+
+            Path destination = resolve(folder, filename);
+            if (Files.exists(destination)) {
+                // Already stored: same bytes, same name
+                return filename;
+            }
             Files.createDirectories(destination.getParent());
-            Files.copy(file.getInputStream(), destination, StandardCopyOption.REPLACE_EXISTING);
+            try {
+                Files.move(temp, destination, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // A concurrent upload of the same bytes got there first
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, destination, StandardCopyOption.REPLACE_EXISTING);
+            }
             return filename;
         } catch (IOException e) {
             throw new RuntimeException("Failed to store image", e);
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // Leftover temp files are harmless
+                }
+            }
         }
     }
 
     @Override
-    public byte[] loadImage(String filename, String folder) {
-        try {
-            Path filePath = rootLocation.resolve(folder).resolve(filename);
-            return Files.readAllBytes(filePath);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to load image", e);
+    public Path locateImage(String filename, String folder) {
+        if (folder == null || filename == null || !FOLDER.matcher(folder).matches()) {
+            return null;
+        }
+        Path path;
+        if (isStoredName(filename)) {
+            path = resolve(folder, filename);
+        } else if (LEGACY_NAME.matcher(filename).matches()) {
+            Path folderDir = rootLocation.resolve(folder).normalize();
+            path = folderDir.resolve(filename).normalize();
+            if (!folderDir.equals(path.getParent())) {
+                return null;
+            }
+        } else {
+            return null;
+        }
+        return Files.isRegularFile(path) ? path : null;
+    }
+
+    @Override
+    public boolean isStoredName(String filename) {
+        return filename != null && STORED_NAME.matcher(filename).matches();
+    }
+
+    // {root}/{folder}/{hash[0..2]}/{hash[2..4]}/{filename}; rejects anything that isn't a stored name
+    private Path resolve(String folder, String filename) {
+        checkFolder(folder);
+        if (filename == null || !STORED_NAME.matcher(filename).matches()) {
+            throw new IllegalArgumentException("Invalid image name: " + filename);
+        }
+        return rootLocation.resolve(folder)
+                .resolve(filename.substring(0, 2))
+                .resolve(filename.substring(2, 4))
+                .resolve(filename);
+    }
+
+    private static void checkFolder(String folder) {
+        if (folder == null || !FOLDER.matcher(folder).matches()) {
+            throw new IllegalArgumentException("Invalid image folder: " + folder);
         }
     }
-}
\ No newline at end of file
+}
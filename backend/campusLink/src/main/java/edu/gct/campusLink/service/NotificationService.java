@@ -1,10 +1,13 @@
 package edu.gct.campusLink.service;
 
 import edu.gct.campusLink.bean.Notification;
+import java.util.Collection;
 import java.util.List;
 
 public interface NotificationService {
     void notifyUsersForBookAvailability(Long bookId);
+    // One wishlist lookup and one batched insert for a whole set of newly available books
+    void notifyUsersForBooksAvailability(Collection<Long> bookIds);
     List<Notification> getAllNotifications(Long userId);
     List<Notification> getUnreadNotifications(Long userId);
     void markAsRead(Long notificationId);
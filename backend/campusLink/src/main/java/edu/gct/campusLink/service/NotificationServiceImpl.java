@@ -1,14 +1,13 @@
 package edu.gct.campusLink.service;
 
-import edu.gct.campusLink.bean.Book;
 import edu.gct.campusLink.bean.Notification;
-import edu.gct.campusLink.bean.User;
 import edu.gct.campusLink.bean.Wishlist;
-import edu.gct.campusLink.dao.BookRepository;
 import edu.gct.campusLink.dao.NotificationRepository;
 import edu.gct.campusLink.dao.WishlistRepository;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 @Service
@@ -16,30 +15,31 @@ public class NotificationServiceImpl implements NotificationService {
 
     private final WishlistRepository wishlistRepository;
     private final NotificationRepository notificationRepository;
-    private final BookRepository bookRepository;
 
     public NotificationServiceImpl(WishlistRepository wishlistRepository,
-                                   NotificationRepository notificationRepository,
-                                   BookRepository bookRepository) {
+                                   NotificationRepository notificationRepository) {
         this.wishlistRepository = wishlistRepository;
         this.notificationRepository = notificationRepository;
-        this.bookRepository = bookRepository;
     }
 
     @Override
     public void notifyUsersForBookAvailability(Long bookId) {
-        Book book = bookRepository.findById(bookId).orElseThrow();
-        List<Wishlist> wishlists = wishlistRepository.findAll();
+        notifyUsersForBooksAvailability(List.of(bookId));
+    }
 
-        for (Wishlist wishlist : wishlists) {
-            if (wishlist.getBook().getId().equals(bookId)) {
-                User user = wishlist.getUser();
-                Notification notification = new Notification();
-                notification.setUser(user);
-                notification.setMessage("Book '" + book.getTitle() + "' is now available.");
-                notificationRepository.save(notification);
-            }
+    @Override
+    public void notifyUsersForBooksAvailability(Collection<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return;
+        }
+        List<Notification> notifications = new ArrayList<>();
+        for (Wishlist wishlist : wishlistRepository.findByBookIdIn(bookIds)) {
+            Notification notification = new Notification();
+            notification.setUser(wishlist.getUser());
+            notification.setMessage("Book '" + wishlist.getBook().getTitle() + "' is now available.");
+            notifications.add(notification);
         }
+        notificationRepository.saveAll(notifications);
     }
 
     @Override
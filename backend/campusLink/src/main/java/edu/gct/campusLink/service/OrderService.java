@@ -1,5 +1,6 @@
 package edu.gct.campusLink.service;
 
+import edu.gct.campusLink.archive.ArchivedBooks;
 import edu.gct.campusLink.bean.Book;
 import edu.gct.campusLink.bean.Order;
 import edu.gct.campusLink.bean.OrderStatus;
@@ -7,13 +8,17 @@ import edu.gct.campusLink.bean.User;
 import edu.gct.campusLink.dao.BookRepository;
 import edu.gct.campusLink.dao.CartRepository;
 import edu.gct.campusLink.dao.OrderRepository;
+import edu.gct.campusLink.event.BookChangedEvent;
+import edu.gct.campusLink.event.BookInterestEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 public class OrderService {
@@ -27,6 +32,12 @@ public class OrderService {
     @Autowired
     private CartRepository cartRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ArchivedBooks archivedBooks;
+
     /**
      * Create a new order for a buyer and seller with a list of books.
      * Marks books unavailable and removes them from carts.
@@ -44,11 +55,16 @@ public class OrderService {
         Order savedOrder = orderRepository.save(order);
 
         // Mark books unavailable and remove from carts
+        LocalDateTime soldTime = LocalDateTime.now();
         for (Book book : books) {
             book.setAvailable(false);
+            book.setSoldTime(soldTime);
             bookRepository.save(book);
+            eventPublisher.publishEvent(BookChangedEvent.saved(this, book));
             cartRepository.deleteByBook(book);
         }
+        eventPublisher.publishEvent(new BookInterestEvent(this, BookInterestEvent.Kind.ORDERED, buyer.getId(),
+                books.stream().map(Book::getId).collect(Collectors.toList())));
 
         return savedOrder;
     }
@@ -57,17 +73,18 @@ public class OrderService {
      * Get all orders placed by a buyer.
      */
     public List<Order> getOrdersByBuyer(User buyer) {
-        return orderRepository.findByBuyer(buyer);
+        return archivedBooks.restoreOrders(orderRepository.findByBuyer(buyer));
     }
 
     public Optional<Order> getOrderById(Long orderId) {
-        return orderRepository.findById(orderId);
+        return orderRepository.findById(orderId)
+                .map(order -> archivedBooks.restoreOrders(List.of(order)).get(0));
     }
     /**
      * Get all orders sold by a seller.
      */
     public List<Order> getOrdersBySeller(User seller) {
-        return orderRepository.findBySeller(seller);
+        return archivedBooks.restoreOrders(orderRepository.findBySeller(seller));
     }
 
     /**
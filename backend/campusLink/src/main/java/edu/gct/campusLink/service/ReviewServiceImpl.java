@@ -1,11 +1,14 @@
 package edu.gct.campusLink.service;
 
+import edu.gct.campusLink.archive.ArchivedBooks;
 import edu.gct.campusLink.bean.Book;
 import edu.gct.campusLink.bean.Review;
 import edu.gct.campusLink.bean.User;
 import edu.gct.campusLink.dao.BookRepository;
 import edu.gct.campusLink.dao.ReviewRepository;
 import edu.gct.campusLink.dao.UserRepository;
+import edu.gct.campusLink.event.UserChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import java.util.List;
 
@@ -15,19 +18,28 @@ public class ReviewServiceImpl implements ReviewService {
     private final ReviewRepository reviewRepository;
     private final UserRepository userRepository;
     private final BookRepository bookRepository;
+    private final ArchivedBooks archivedBooks;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ReviewServiceImpl(ReviewRepository reviewRepository,
                              UserRepository userRepository,
-                             BookRepository bookRepository) {
+                             BookRepository bookRepository,
+                             ArchivedBooks archivedBooks,
+                             ApplicationEventPublisher eventPublisher) {
         this.reviewRepository = reviewRepository;
         this.userRepository = userRepository;
         this.bookRepository = bookRepository;
+        this.archivedBooks = archivedBooks;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     public Review addReview(Long reviewerId, Long bookId, int rating, String comment) {
         User reviewer = userRepository.findById(reviewerId).orElseThrow();
-        Book book = bookRepository.findById(bookId).orElseThrow();
+        // Reviews usually come after the sale, so the book may already be archived
+        Book book = bookRepository.findById(bookId)
+                .or(() -> archivedBooks.find(bookId))
+                .orElseThrow();
 
         Review review = new Review();
         review.setReviewer(reviewer);
@@ -40,7 +52,11 @@ public class ReviewServiceImpl implements ReviewService {
             review.setSeller(book.getOwner());
         }
 
-        return reviewRepository.save(review);
+        Review saved = reviewRepository.save(review);
+        if (book.getOwner() != null) {
+            eventPublisher.publishEvent(new UserChangedEvent(this, book.getOwner().getId()));
+        }
+        return saved;
     }
 
     @Override
@@ -54,21 +70,23 @@ public class ReviewServiceImpl implements ReviewService {
         review.setRating(rating);
         review.setComment(comment);
 
-        return reviewRepository.save(review);
+        Review saved = reviewRepository.save(review);
+        eventPublisher.publishEvent(new UserChangedEvent(this, sellerId));
+        return saved;
     }
 
     @Override
     public List<Review> getReviewsByBook(Long bookId) {
-        return reviewRepository.findByBookId(bookId);
+        return archivedBooks.restoreReviews(reviewRepository.findByBookId(bookId));
     }
 
     @Override
     public List<Review> getReviewsByUser(Long userId) {
-        return reviewRepository.findByReviewerId(userId);
+        return archivedBooks.restoreReviews(reviewRepository.findByReviewerId(userId));
     }
 
     @Override
     public List<Review> getReviewsBySeller(Long sellerId) {
-        return reviewRepository.findBySellerId(sellerId);
+        return archivedBooks.restoreReviews(reviewRepository.findBySellerId(sellerId));
     }
 }
\ No newline at end of file
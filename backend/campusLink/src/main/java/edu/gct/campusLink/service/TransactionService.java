@@ -1,9 +1,14 @@
 package edu.gct.campusLink.service;
 
+import edu.gct.campusLink.archive.ArchivedBooks;
 import edu.gct.campusLink.bean.*;
 import edu.gct.campusLink.dao.*;
 import edu.gct.campusLink.bean.TransactionStatus;
+import edu.gct.campusLink.cache.BookAvailability;
+import edu.gct.campusLink.event.BookChangedEvent;
+import edu.gct.campusLink.pricing.PriceSuggestionEngine;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 //import java.lang.ScopedValue;
@@ -26,6 +31,18 @@ public class TransactionService {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PriceSuggestionEngine priceSuggestions;
+
+    @Autowired
+    private BookAvailability availability;
+
+    @Autowired
+    private ArchivedBooks archivedBooks;
+
     // ✅ Group cart items by seller and create transactions
     public List<Transaction> createTransactions(User buyer) {
         List<CartItem> cartItems = cartRepository.findByUser(buyer);
@@ -34,6 +51,16 @@ public class TransactionService {
             throw new RuntimeException("Cart is empty");
         }
 
+        // Books sold or withdrawn since they were carted can't be checked out
+        List<String> gone = cartItems.stream()
+                .map(CartItem::getBook)
+                .filter(book -> availability.isKnownUnavailable(book.getId()) || !book.isAvailable())
+                .map(Book::getTitle)
+                .collect(Collectors.toList());
+        if (!gone.isEmpty()) {
+            throw new RuntimeException("No longer available: " + String.join(", ", gone));
+        }
+
         // Group books by seller
         Map<User, List<CartItem>> groupedBySeller = cartItems.stream()
                 .collect(Collectors.groupingBy(item -> item.getBook().getOwner()));
@@ -68,6 +95,7 @@ public class TransactionService {
     public Transaction completeTransaction(Long transactionId) {
         Transaction transaction = transactionRepository.findById(transactionId)
                 .orElseThrow(() -> new RuntimeException("Transaction not found"));
+        boolean alreadyCompleted = transaction.getStatus() == TransactionStatus.COMPLETED;
 
         transaction.setStatus(TransactionStatus.COMPLETED);
         transactionRepository.save(transaction);
@@ -83,8 +111,12 @@ public class TransactionService {
         // Remove these books from the cart
         for (Book book : transaction.getBooks()) {
             cartRepository.deleteByBook(book);
+            if (!alreadyCompleted) {
+                priceSuggestions.recordSale(book);
+            }
             book.setAvailable(false);
             bookRepository.save(book);
+            eventPublisher.publishEvent(BookChangedEvent.saved(this, book));
         }
 
         return transaction;
@@ -100,14 +132,15 @@ public class TransactionService {
 
     // ✅ Fetch transactions
     public List<Transaction> getTransactionsByBuyer(User buyer) {
-        return transactionRepository.findByBuyer(buyer);
+        return archivedBooks.restoreTransactions(transactionRepository.findByBuyer(buyer));
     }
 
     public List<Transaction> getTransactionsBySeller(User seller) {
-        return transactionRepository.findBySeller(seller);
+        return archivedBooks.restoreTransactions(transactionRepository.findBySeller(seller));
     }
 
     public Optional<Transaction> getTransactionById(Long id) {
-        return transactionRepository.findById(id);
+        return transactionRepository.findById(id)
+                .map(transaction -> archivedBooks.restoreTransactions(List.of(transaction)).get(0));
     }
 }
@@ -3,6 +3,8 @@ package edu.gct.campusLink.service;
 import edu.gct.campusLink.bean.User;
 import edu.gct.campusLink.bean.AuthRequest;
 import edu.gct.campusLink.dao.UserRepository;
+import edu.gct.campusLink.event.UserChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -16,11 +18,14 @@ public class UserServiceImpl implements UserService {
     private final BCryptPasswordEncoder passwordEncoder;
     private final OTPService otpService;
     private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UserServiceImpl(UserRepository userRepository, OTPService otpService, EmailService emailService) {
+    public UserServiceImpl(UserRepository userRepository, OTPService otpService, EmailService emailService,
+                           ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.otpService = otpService;
         this.emailService = emailService;
+        this.eventPublisher = eventPublisher;
         this.passwordEncoder = new BCryptPasswordEncoder();
     }
 
@@ -132,12 +137,15 @@ public class UserServiceImpl implements UserService {
         if (updatedUser.getLocation() != null) user.setLocation(updatedUser.getLocation());
         if (updatedUser.getProfileImagePath() != null) user.setProfileImagePath(updatedUser.getProfileImagePath());
         if (updatedUser.getIsVerified() != null) user.setIsVerified(updatedUser.getIsVerified());
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(this, id));
+        return saved;
     }
 
     @Override
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new UserChangedEvent(this, id));
     }
 
     @Override
@@ -7,4 +7,5 @@ public interface WishlistService {
     Wishlist addToWishlist(Long userId, Long bookId);
     void removeFromWishlist(Long userId, Long bookId);
     List<Wishlist> getWishlistByUser(Long userId);
+    List<Long> getWishlistBookIds(Long userId);
 }
@@ -3,10 +3,13 @@ package edu.gct.campusLink.service;
 import edu.gct.campusLink.bean.Book;
 import edu.gct.campusLink.bean.User;
 import edu.gct.campusLink.bean.Wishlist;
+import edu.gct.campusLink.cache.BookAvailability;
 import edu.gct.campusLink.dao.BookRepository;
 import edu.gct.campusLink.dao.UserRepository;
 import edu.gct.campusLink.dao.WishlistRepository;
+import edu.gct.campusLink.event.BookInterestEvent;
 import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -18,17 +21,29 @@ public class WishlistServiceImpl implements WishlistService {
     private final WishlistRepository wishlistRepository;
     private final UserRepository userRepository;
     private final BookRepository bookRepository;
+    private final BookAvailability availability;
+    private final ApplicationEventPublisher eventPublisher;
 
     public WishlistServiceImpl(WishlistRepository wishlistRepository,
                                UserRepository userRepository,
-                               BookRepository bookRepository) {
+                               BookRepository bookRepository,
+                               BookAvailability availability,
+                               ApplicationEventPublisher eventPublisher) {
         this.wishlistRepository = wishlistRepository;
         this.userRepository = userRepository;
         this.bookRepository = bookRepository;
+        this.availability = availability;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     public Wishlist addToWishlist(Long userId, Long bookId) {
+        // Own books are rejected from the in-memory owner index, without loading anything.
+        // Unavailable books stay allowed: wishlisting is how users ask to hear when they come back.
+        if (availability.ownerOf(bookId) == userId) {
+            throw new RuntimeException("You cannot add your own book to your wishlist");
+        }
+
         // Check if the book exists
         Book book = bookRepository.findById(bookId)
                 .orElseThrow(() -> new RuntimeException("Book not found"));
@@ -52,7 +67,9 @@ public class WishlistServiceImpl implements WishlistService {
         wishlist.setBook(book);
         wishlist.setAddedTime(LocalDateTime.now());
 
-        return wishlistRepository.save(wishlist);
+        Wishlist saved = wishlistRepository.save(wishlist);
+        eventPublisher.publishEvent(BookInterestEvent.of(this, BookInterestEvent.Kind.WISHLISTED, userId, bookId));
+        return saved;
     }
 
     @Override
@@ -65,4 +82,9 @@ public class WishlistServiceImpl implements WishlistService {
     public List<Wishlist> getWishlistByUser(Long userId) {
         return wishlistRepository.findByUserId(userId);
     }
+
+    @Override
+    public List<Long> getWishlistBookIds(Long userId) {
+        return wishlistRepository.findBookIdsByUserId(userId);
+    }
 }
@@ -0,0 +1,136 @@
+package edu.gct.campusLink.image;
+
+import edu.gct.campusLink.cache.OffHeapImageCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Range, If-Range and conditional GET handling, from disk and from the off-heap cache
+class ImageSenderTest {
+
+    private static final String ETAG = "\"cover\"";
+    private static final int LENGTH = 1000;
+
+    @TempDir
+    Path dir;
+
+    private Path file;
+    private byte[] bytes;
+
+    @BeforeEach
+    void writeFile() throws IOException {
+        bytes = new byte[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            bytes[i] = (byte) i;
+        }
+        file = dir.resolve("cover.jpg");
+        Files.write(file, bytes);
+    }
+
+    @Test
+    void singleRangeIsPartialContent() throws IOException {
+        MockHttpServletResponse response = send(fromDisk(), HttpHeaders.RANGE, "bytes=100-199");
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 100-199/1000", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(100, response.getContentLengthLong());
+        assertArrayEquals(Arrays.copyOfRange(bytes, 100, 200), response.getContentAsByteArray());
+    }
+
+    @Test
+    void singleRangeFromTheCacheMatchesTheDisk() throws IOException {
+        ImageSender sender = new ImageSender(new OffHeapImageCache(1 << 20, 1 << 20));
+        // The first read loads the file; the second is answered from the cache
+        send(sender, HttpHeaders.RANGE, "bytes=100-199");
+        MockHttpServletResponse response = send(sender, HttpHeaders.RANGE, "bytes=100-199");
+
+        assertEquals(206, response.getStatus());
+        assertArrayEquals(Arrays.copyOfRange(bytes, 100, 200), response.getContentAsByteArray());
+    }
+
+    @Test
+    void suffixRangeIsTheLastBytes() throws IOException {
+        MockHttpServletResponse response = send(fromDisk(), HttpHeaders.RANGE, "bytes=-50");
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 950-999/1000", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertArrayEquals(Arrays.copyOfRange(bytes, 950, 1000), response.getContentAsByteArray());
+    }
+
+    @Test
+    void rangePastTheEndIsNotSatisfiable() throws IOException {
+        MockHttpServletResponse response = send(fromDisk(), HttpHeaders.RANGE, "bytes=1000-1100");
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */1000", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void matchingIfRangeKeepsTheRange() throws IOException {
+        MockHttpServletResponse response = send(fromDisk(),
+                HttpHeaders.RANGE, "bytes=0-9", HttpHeaders.IF_RANGE, ETAG);
+
+        assertEquals(206, response.getStatus());
+        assertArrayEquals(Arrays.copyOfRange(bytes, 0, 10), response.getContentAsByteArray());
+    }
+
+    @Test
+    void staleIfRangeSendsTheWholeFile() throws IOException {
+        MockHttpServletResponse response = send(fromDisk(),
+                HttpHeaders.RANGE, "bytes=0-9", HttpHeaders.IF_RANGE, "\"older\"");
+
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertArrayEquals(bytes, response.getContentAsByteArray());
+    }
+
+    @Test
+    void multipleRangesSendTheWholeFile() throws IOException {
+        MockHttpServletResponse response = send(fromDisk(), HttpHeaders.RANGE, "bytes=0-9,20-29");
+
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(LENGTH, response.getContentLengthLong());
+        assertArrayEquals(bytes, response.getContentAsByteArray());
+    }
+
+    @Test
+    void matchingIfNoneMatchIsNotModified() throws IOException {
+        MockHttpServletResponse response = send(fromDisk(), HttpHeaders.IF_NONE_MATCH, ETAG);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(ETAG, response.getHeader(HttpHeaders.ETAG));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    // No cache capacity and no sendfile attribute, so every body is copied from the file channel
+    private static ImageSender fromDisk() {
+        return new ImageSender(new OffHeapImageCache(0, 0));
+    }
+
+    // headers are name, value pairs
+    private MockHttpServletResponse send(ImageSender sender, String... headers) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/uploads/cover.jpg");
+        for (int i = 0; i < headers.length; i += 2) {
+            request.addHeader(headers[i], headers[i + 1]);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        sender.send(file, MediaType.IMAGE_JPEG, ETAG, CacheControl.noCache(), request, response);
+        return response;
+    }
+}
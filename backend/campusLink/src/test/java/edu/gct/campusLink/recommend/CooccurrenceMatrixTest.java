@@ -0,0 +1,95 @@
+package edu.gct.campusLink.recommend;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Top-K neighbours must match cosine similarity computed from scratch over the user sets
+class CooccurrenceMatrixTest {
+
+    private static final int USERS = 2_000;
+    private static final int ITEMS = 500;
+    private static final int K = 20;
+
+    @Test
+    void topKMatchesBruteForce() {
+        Random random = new Random(42);
+        CooccurrenceMatrix matrix = new CooccurrenceMatrix();
+        Map<Long, Set<Long>> usersOf = new HashMap<>();
+        for (long user = 0; user < USERS; user++) {
+            int interests = 1 + random.nextInt(15);
+            for (int i = 0; i < interests; i++) {
+                // Skewed towards low ids, so popular items and many score ties both occur
+                long item = (long) (ITEMS * Math.pow(random.nextDouble(), 2));
+                matrix.add(user, item);
+                // Repeats are ignored by the matrix and by the set
+                matrix.add(user, item);
+                usersOf.computeIfAbsent(item, x -> new HashSet<>()).add(user);
+            }
+        }
+        assertEquals(usersOf.size(), matrix.itemCount());
+
+        for (long item = 0; item < ITEMS; item++) {
+            List<double[]> expected = new ArrayList<>();
+            Set<Long> mine = usersOf.getOrDefault(item, Set.of());
+            for (Map.Entry<Long, Set<Long>> other : usersOf.entrySet()) {
+                if (other.getKey() == item) {
+                    continue;
+                }
+                int together = 0;
+                for (Long user : other.getValue()) {
+                    if (mine.contains(user)) together++;
+                }
+                if (together > 0) {
+                    double score = together / (Math.sqrt(mine.size()) * Math.sqrt(other.getValue().size()));
+                    expected.add(new double[]{score, other.getKey()});
+                }
+            }
+            // Best score first, lowest id first among equal scores
+            expected.sort(Comparator.<double[]>comparingDouble(e -> -e[0]).thenComparingDouble(e -> e[1]));
+            int n = Math.min(K, expected.size());
+
+            CooccurrenceMatrix.Neighbours actual = matrix.topK(item, K);
+            assertEquals(n, actual.size(), "item " + item);
+            for (int i = 0; i < n; i++) {
+                assertEquals((long) expected.get(i)[1], actual.idAt(i), "item " + item + " rank " + i);
+                assertEquals(expected.get(i)[0], actual.scoreAt(i), 1e-12);
+            }
+        }
+    }
+
+    @Test
+    void addReportsTouchedRowsOnce() {
+        CooccurrenceMatrix matrix = new CooccurrenceMatrix();
+        assertArrayEquals(new long[]{1}, matrix.add(7, 1));
+        long[] touched = matrix.add(7, 2);
+        assertEquals(Set.of(1L, 2L), toSet(touched));
+        assertArrayEquals(new long[0], matrix.add(7, 2));
+    }
+
+    @Test
+    void heavyUsersStopCountingAtTheCap() {
+        CooccurrenceMatrix matrix = new CooccurrenceMatrix();
+        for (long item = 0; item < CooccurrenceMatrix.MAX_ITEMS_PER_USER + 50; item++) {
+            matrix.add(1, item);
+        }
+        assertEquals(CooccurrenceMatrix.MAX_ITEMS_PER_USER, matrix.itemCount());
+        assertEquals(CooccurrenceMatrix.MAX_ITEMS_PER_USER - 1, matrix.topK(0, Integer.MAX_VALUE).size());
+    }
+
+    private static Set<Long> toSet(long[] ids) {
+        Set<Long> set = new HashSet<>();
+        for (long id : ids) set.add(id);
+        return set;
+    }
+}
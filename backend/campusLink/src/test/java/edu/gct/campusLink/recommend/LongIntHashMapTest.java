@@ -0,0 +1,61 @@
+package edu.gct.campusLink.recommend;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// The probing map must behave exactly like a HashMap<Long, Integer> through many rehashes
+class LongIntHashMapTest {
+
+    @Test
+    void matchesHashMapThroughRehashes() {
+        Random random = new Random(42);
+        LongIntHashMap map = new LongIntHashMap();
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            // Small key range so puts, overwrites and addTo on existing keys all happen often;
+            // negative and sequential keys exercise the hash mixing
+            long key = random.nextInt(50_000) - 25_000L;
+            int value = random.nextInt(100);
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    map.put(key, value);
+                    expected.put(key, value);
+                }
+                case 1 -> assertEquals((int) expected.merge(key, value, Integer::sum), map.addTo(key, value));
+                default -> assertEquals((int) expected.getOrDefault(key, -1), map.get(key, -1), "key " + key);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Long, Integer> e : expected.entrySet()) {
+            assertEquals((int) e.getValue(), map.get(e.getKey(), -1));
+        }
+        Map<Long, Integer> iterated = new HashMap<>();
+        map.forEach((key, value) -> assertEquals(null, iterated.put(key, value), "key visited twice: " + key));
+        assertEquals(expected, iterated);
+    }
+
+    @Test
+    void presizedMapHoldsExtremeKeys() {
+        LongIntHashMap map = new LongIntHashMap(1);
+        map.put(Long.MAX_VALUE, 1);
+        map.put(Long.MIN_VALUE + 1, 2);
+        map.put(0, 3);
+        assertEquals(1, map.get(Long.MAX_VALUE, 0));
+        assertEquals(2, map.get(Long.MIN_VALUE + 1, 0));
+        assertEquals(3, map.get(0, 0));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    void emptyMarkerIsRejected() {
+        LongIntHashMap map = new LongIntHashMap();
+        assertThrows(IllegalArgumentException.class, () -> map.put(Long.MIN_VALUE, 1));
+    }
+}
@@ -0,0 +1,59 @@
+package edu.gct.campusLink.recommend;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// The probing map must behave exactly like a HashMap<Long, V> through many rehashes
+class LongObjectHashMapTest {
+
+    @Test
+    void matchesHashMapThroughRehashes() {
+        Random random = new Random(42);
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        Map<Long, String> expected = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(50_000) - 25_000L;
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    String value = "v" + i;
+                    map.put(key, value);
+                    expected.put(key, value);
+                }
+                case 1 -> assertEquals(expected.computeIfAbsent(key, k -> "c" + k), map.computeIfAbsent(key, k -> "c" + k));
+                default -> assertEquals(expected.get(key), map.get(key), "key " + key);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        Map<Long, String> iterated = new HashMap<>();
+        map.forEach((key, value) -> assertNull(iterated.put(key, value), "key visited twice: " + key));
+        assertEquals(expected, iterated);
+    }
+
+    @Test
+    void nullValueIsStoredButReadsAsAbsent() {
+        // SimilarBooks marks stale top-K lists with a null value
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        map.put(7, null);
+        assertNull(map.get(7));
+        assertEquals(1, map.size());
+        // computeIfAbsent sees the key as present and keeps the null
+        assertNull(map.computeIfAbsent(7, k -> "x"));
+    }
+
+    @Test
+    void computeIfAbsentCreatesOnce() {
+        LongObjectHashMap<Object> map = new LongObjectHashMap<>();
+        Object first = map.computeIfAbsent(1, k -> new Object());
+        assertSame(first, map.computeIfAbsent(1, k -> new Object()));
+        assertThrows(IllegalArgumentException.class, () -> map.get(Long.MIN_VALUE));
+    }
+}
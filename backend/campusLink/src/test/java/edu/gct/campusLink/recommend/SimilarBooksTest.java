@@ -0,0 +1,59 @@
+package edu.gct.campusLink.recommend;
+
+import edu.gct.campusLink.dao.CartRepository;
+import edu.gct.campusLink.dao.OrderRepository;
+import edu.gct.campusLink.dao.WishlistRepository;
+import edu.gct.campusLink.event.BookInterestEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Interest recorded while a rebuild is reading the tables must survive the swap
+class SimilarBooksTest {
+
+    @Test
+    void eventDuringRebuildIsReplayedOntoTheNewMatrix() {
+        WishlistRepository wishlists = mock(WishlistRepository.class);
+        CartRepository carts = mock(CartRepository.class);
+        OrderRepository orders = mock(OrderRepository.class);
+        SimilarBooks similar = new SimilarBooks(wishlists, carts, orders);
+
+        List<Object[]> wishlistRows = new ArrayList<>();
+        wishlistRows.add(new Object[]{1L, 10L});
+        wishlistRows.add(new Object[]{1L, 11L});
+        when(wishlists.findUserBookPairs()).thenReturn(wishlistRows);
+        // The cart add below commits after the wishlist query ran, so no query sees it
+        when(carts.findUserBookPairs()).thenAnswer(invocation -> {
+            similar.onInterest(BookInterestEvent.of(this, BookInterestEvent.Kind.CARTED, 1L, 12L));
+            return List.of();
+        });
+        when(orders.findBuyerBookPairs()).thenReturn(List.of());
+
+        similar.rebuild();
+
+        assertEquals(List.of(11L, 12L), similar.similar(10L, 5));
+        assertEquals(List.of(10L, 11L), similar.similar(12L, 5));
+    }
+
+    @Test
+    void eventsAfterRebuildStillApply() {
+        WishlistRepository wishlists = mock(WishlistRepository.class);
+        CartRepository carts = mock(CartRepository.class);
+        OrderRepository orders = mock(OrderRepository.class);
+        when(wishlists.findUserBookPairs()).thenReturn(List.of());
+        when(carts.findUserBookPairs()).thenReturn(List.of());
+        when(orders.findBuyerBookPairs()).thenReturn(List.of());
+        SimilarBooks similar = new SimilarBooks(wishlists, carts, orders);
+        similar.rebuild();
+
+        similar.onInterest(BookInterestEvent.of(this, BookInterestEvent.Kind.WISHLISTED, 2L, 20L));
+        similar.onInterest(BookInterestEvent.of(this, BookInterestEvent.Kind.ORDERED, 2L, 21L));
+
+        assertEquals(List.of(21L), similar.similar(20L, 5));
+    }
+}
@@ -0,0 +1,84 @@
+package edu.gct.campusLink.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Radius queries must return exactly what a scan over every point returns
+class GeoIndexTest {
+
+    private static final int POINTS = 20_000;
+    private static final double[] RADII = {100, 250, 500, 1000, 2000, 5000, 10_000};
+
+    @Test
+    void nearMatchesBruteForce() {
+        Random random = new Random(42);
+        // Spread over roughly 40 km x 40 km around the campus
+        double baseLat = 11.0168;
+        double baseLon = 76.9558;
+        double[][] points = new double[POINTS][];
+        GeoIndex index = new GeoIndex();
+        for (int i = 0; i < POINTS; i++) {
+            points[i] = new double[]{baseLat + (random.nextDouble() - 0.5) * 0.36,
+                    baseLon + (random.nextDouble() - 0.5) * 0.36};
+            index.put(i, points[i][0], points[i][1]);
+        }
+
+        for (int query = 0; query < 50; query++) {
+            double lat = baseLat + (random.nextDouble() - 0.5) * 0.3;
+            double lon = baseLon + (random.nextDouble() - 0.5) * 0.3;
+            for (double radius : RADII) {
+                List<Long> expected = new ArrayList<>();
+                List<GeoIndex.Nearby> all = new ArrayList<>();
+                for (int i = 0; i < POINTS; i++) {
+                    double distance = GeoHash.distanceMeters(lat, lon, points[i][0], points[i][1]);
+                    if (distance <= radius) {
+                        all.add(new GeoIndex.Nearby(i, distance));
+                    }
+                }
+                all.sort(null);
+                all.forEach(n -> expected.add(n.getDocId()));
+
+                List<Long> actual = new ArrayList<>();
+                index.near(lat, lon, radius, Integer.MAX_VALUE).forEach(n -> actual.add(n.getDocId()));
+
+                assertEquals(expected, actual, "radius " + radius + " around " + lat + "," + lon);
+            }
+        }
+    }
+
+    // Walking the pages with the last point of each as the cursor yields the whole list once, in order
+    @Test
+    void pagesAfterCursorCoverEveryPoint() {
+        Random random = new Random(7);
+        double lat = 11.0168;
+        double lon = 76.9558;
+        GeoIndex index = new GeoIndex();
+        for (int i = 0; i < 2_000; i++) {
+            index.put(i, lat + (random.nextDouble() - 0.5) * 0.04, lon + (random.nextDouble() - 0.5) * 0.04);
+        }
+        // A few points at exactly the same spot, so ties are broken by id across page ends
+        for (int i = 2_000; i < 2_010; i++) {
+            index.put(i, lat + 0.001, lon);
+        }
+
+        List<Long> expected = new ArrayList<>();
+        index.near(lat, lon, 2000, Integer.MAX_VALUE).forEach(n -> expected.add(n.getDocId()));
+
+        List<Long> paged = new ArrayList<>();
+        GeoIndex.Nearby after = null;
+        while (true) {
+            List<GeoIndex.Nearby> page = index.near(lat, lon, 2000, after, 7);
+            page.forEach(n -> paged.add(n.getDocId()));
+            if (page.size() < 7) {
+                break;
+            }
+            after = page.get(page.size() - 1);
+        }
+        assertEquals(expected, paged);
+    }
+}
@@ -16,6 +16,7 @@ import {
   HeartOff,
   ShoppingCart,
   Trash2,
+  Star,
 } from "lucide-react";
 import Navbar from "@/components/Navbar";
 import Footer from "@/components/Footer";
@@ -38,6 +39,7 @@ interface Book {
   type?: string;
   quality?: string;
   bookImage?: string;
+  bookImageDetail?: string;
   originalPrice: number;
   generatedPrice?: number;
   available: boolean;
@@ -45,6 +47,30 @@ interface Book {
   owner?: Owner;
 }
 
+interface ReviewSummary {
+  count: number;
+  averageRating?: number;
+  recent: { id: number; rating: number; comment?: string; timestamp?: string }[];
+}
+
+interface SellerSummary {
+  id: number;
+  name: string;
+  rating?: number;
+  reviewCount: number;
+  averageReviewRating?: number;
+}
+
+// Response of /api/books/{id}/page; parts that timed out are absent
+interface BookPage {
+  book: Book;
+  reviews?: ReviewSummary;
+  seller?: SellerSummary;
+  inWishlist?: boolean;
+  inCart?: boolean;
+  missing: string[];
+}
+
 // 🔹 Axios instance with JWT interceptor
 const axiosInstance = axios.create();
 axiosInstance.interceptors.request.use((config) => {
@@ -65,6 +91,9 @@ const BookDetails = () => {
   const [inWishlist, setInWishlist] = useState(false);
   const [inCart, setInCart] = useState(false);
   const [loadingAction, setLoadingAction] = useState(false);
+  const [similar, setSimilar] = useState<Book[]>([]);
+  const [reviews, setReviews] = useState<ReviewSummary | null>(null);
+  const [seller, setSeller] = useState<SellerSummary | null>(null);
 
   const user = getUserFromToken();
 
@@ -72,29 +101,27 @@ const BookDetails = () => {
     if (id) fetchBookData();
   }, [id, user?.email]);
 
-  // 🔹 Fetch Book + Wishlist + Cart Status
+  // 🔹 Fetch the detail page (book, reviews, seller, wishlist/cart status)
   const fetchBookData = async () => {
     try {
       setLoading(true);
 
-      const bookRes = await axiosInstance.get<Book>(
-        `http://localhost:8082/api/books/${id}`
-      );
-      setBook(bookRes.data);
-
-      if (user?.email) {
-        // Wishlist check
-        const wishlistRes = await axiosInstance.get(`http://localhost:8082/api/wishlist`, {
-          params: { userEmail: user.email },
-        });
-        setInWishlist(wishlistRes.data.some((w: any) => w.book.id === Number(id)));
+      // Recommendations are optional; don't hold up the page for them
+      axiosInstance
+        .get<Book[]>(`http://localhost:8082/api/books/${id}/similar`, { params: { limit: 4 } })
+        .then((res) => setSimilar(res.data))
+        .catch((err) => console.error("Error fetching similar books:", err));
 
-        // Cart check
-        const cartRes = await axiosInstance.get(`http://localhost:8082/api/cart`, {
-          params: { userEmail: user.email },
-        });
-        setInCart(cartRes.data.some((c: any) => c.book.id === Number(id)));
-      }
+      // Book, review summary, seller rating and wishlist/cart state in one request
+      const pageRes = await axiosInstance.get<BookPage>(
+        `http://localhost:8082/api/books/${id}/page`,
+        { params: { userId: user?.id } }
+      );
+      setBook(pageRes.data.book);
+      setReviews(pageRes.data.reviews ?? null);
+      setSeller(pageRes.data.seller ?? null);
+      setInWishlist(pageRes.data.inWishlist ?? false);
+      setInCart(pageRes.data.inCart ?? false);
     } catch (err) {
       console.error("Error fetching book or status:", err);
     } finally {
@@ -201,7 +228,7 @@ const BookDetails = () => {
             <img
               src={
                 book.bookImage
-                  ? `http://localhost:8082${book.bookImage}`
+                  ? `http://localhost:8082${book.bookImageDetail ?? book.bookImage}`
                   : "https://via.placeholder.com/400x500?text=No+Image"
               }
               alt={book.title}
@@ -262,6 +289,27 @@ const BookDetails = () => {
                     {book.owner.department}
                   </p>
                 )}
+                {seller && seller.reviewCount > 0 && (
+                  <p>
+                    <Star className="inline-block mr-2 h-4 w-4 text-amber-500" />
+                    {seller.averageReviewRating?.toFixed(1)} from {seller.reviewCount} review
+                    {seller.reviewCount === 1 ? "" : "s"}
+                  </p>
+                )}
+              </div>
+            )}
+
+            {/* ⭐ Reviews */}
+            {reviews && reviews.count > 0 && (
+              <div className="border-t pt-4">
+                <h3 className="font-semibold mb-3">
+                  Reviews ({reviews.count}, average {reviews.averageRating?.toFixed(1)})
+                </h3>
+                {reviews.recent.map((r) => (
+                  <p key={r.id} className="text-sm text-muted-foreground">
+                    {"★".repeat(r.rating)} {r.comment}
+                  </p>
+                ))}
               </div>
             )}
 
@@ -307,6 +355,24 @@ const BookDetails = () => {
             )}
           </CardContent>
         </Card>
+
+        {similar.length > 0 && (
+          <div className="mt-10">
+            <h2 className="text-xl font-semibold mb-4">People who wanted this also wanted</h2>
+            <div className="grid grid-cols-2 md:grid-cols-4 gap-4">
+              {similar.map((b) => (
+                <Link key={b.id} to={`/books/${b.id}`}>
+                  <Card className="h-full hover:shadow-md transition-shadow">
+                    <CardContent className="p-4">
+                      <p className="font-medium line-clamp-2">{b.title}</p>
+                      <p className="text-sm text-muted-foreground">{b.author || "Unknown Author"}</p>
+                    </CardContent>
+                  </Card>
+                </Link>
+              ))}
+            </div>
+          </div>
+        )}
       </div>
 
       <Footer />
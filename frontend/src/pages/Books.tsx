@@ -13,7 +13,7 @@ import {
   SelectTrigger,
   SelectValue,
 } from "@/components/ui/select";
-import { Search, Filter, Heart, ShoppingCart } from "lucide-react";
+import { Search, Filter, Heart, ShoppingCart, MapPin } from "lucide-react";
 import Navbar from "@/components/Navbar";
 import Footer from "@/components/Footer";
 import { getUserFromToken } from "@/utils/jwtHelper";
@@ -37,6 +37,12 @@ interface Book {
   available: boolean;
   bookImage?: string;
   owner?: User;
+  distanceMeters?: number;
+}
+
+interface BookPage {
+  items: Book[];
+  nextCursor: string | null;
 }
 
 // 🔹 Axios instance with JWT interceptor
@@ -54,6 +60,7 @@ axiosInstance.interceptors.request.use((config) => {
 
 const Books = () => {
   const [books, setBooks] = useState<Book[]>([]);
+  const [nextUrl, setNextUrl] = useState<string | null>(null);
   const [searchQuery, setSearchQuery] = useState("");
   const [filterType, setFilterType] = useState("all");
   const [currentUser, setCurrentUser] = useState<User | null>(null);
@@ -78,8 +85,9 @@ const Books = () => {
   useEffect(() => {
     const fetchBooks = async () => {
       try {
-        const res = await axiosInstance.get<Book[]>("http://localhost:8082/api/books");
-        setBooks(res.data);
+        const res = await axiosInstance.get<BookPage>("http://localhost:8082/api/books");
+        setBooks(res.data.items);
+        setNextUrl(nextPageUrl("http://localhost:8082/api/books", res.data));
       } catch (err) {
         console.error("Error fetching books:", err);
       }
@@ -115,17 +123,50 @@ const Books = () => {
   // 🔹 Search handler
   const handleSearch = async () => {
     try {
-      const res = await axiosInstance.get<Book[]>(
-        searchQuery.trim()
-          ? `http://localhost:8082/api/books/search?q=${encodeURIComponent(searchQuery)}`
-          : "http://localhost:8082/api/books"
-      );
-      setBooks(res.data);
+      const url = searchQuery.trim()
+        ? `http://localhost:8082/api/books/search?q=${encodeURIComponent(searchQuery)}`
+        : "http://localhost:8082/api/books";
+      const res = await axiosInstance.get<BookPage>(url);
+      setBooks(res.data.items);
+      setNextUrl(nextPageUrl(url, res.data));
     } catch (err) {
       console.error("Search failed:", err);
     }
   };
 
+  // 🔹 Books available for pickup within 2 km of the browser's location
+  const handleNearMe = () => {
+    if (!navigator.geolocation) {
+      alert("Location is not available in this browser.");
+      return;
+    }
+    navigator.geolocation.getCurrentPosition(
+      async (pos) => {
+        try {
+          const url = `http://localhost:8082/api/books?near=${pos.coords.latitude},${pos.coords.longitude}&radius=2000`;
+          const res = await axiosInstance.get<BookPage>(url);
+          setBooks(res.data.items);
+          setNextUrl(nextPageUrl(url, res.data));
+        } catch (err) {
+          console.error("Nearby search failed:", err);
+        }
+      },
+      () => alert("Could not get your location.")
+    );
+  };
+
+  // 🔹 Load the next page of the current listing
+  const loadMore = async () => {
+    if (!nextUrl) return;
+    try {
+      const res = await axiosInstance.get<BookPage>(nextUrl);
+      setBooks((prev) => [...prev, ...res.data.items]);
+      setNextUrl(nextPageUrl(nextUrl, res.data));
+    } catch (err) {
+      console.error("Failed to load more books:", err);
+    }
+  };
+
   // 🔹 Helper to set per-item loading
   const setItemLoading = (bookId: number, value: boolean) =>
     setLoadingIds((p) => ({ ...p, [bookId]: value }));
@@ -240,6 +281,15 @@ const Books = () => {
             Search
           </Button>
 
+          <Button
+            variant="outline"
+            onClick={handleNearMe}
+            className="h-12 px-6 rounded-lg shadow-sm"
+          >
+            <MapPin className="h-4 w-4 mr-2" />
+            Near me
+          </Button>
+
           <Select value={filterType} onValueChange={setFilterType}>
             <SelectTrigger className="h-12 w-full md:w-48 bg-white border border-gray-300 rounded-lg shadow-sm flex items-center">
               <Filter className="h-4 w-4 ml-3 mr-2 text-gray-500" />
@@ -360,6 +410,10 @@ const Books = () => {
                     </Badge>
                     <p className="text-xs text-gray-500">
                       Seller: {book.owner?.name || "Unknown"}
+                      {book.distanceMeters !== undefined &&
+                        ` · ${book.distanceMeters < 1000
+                          ? `${book.distanceMeters} m`
+                          : `${(book.distanceMeters / 1000).toFixed(1)} km`} away`}
                     </p>
                   </div>
                 </CardContent>
@@ -377,6 +431,14 @@ const Books = () => {
           })}
         </div>
 
+        {nextUrl && (
+          <div className="text-center mt-10">
+            <Button variant="outline" onClick={loadMore}>
+              Load more
+            </Button>
+          </div>
+        )}
+
         {filteredBooks.length === 0 && (
           <div className="text-center py-20 text-gray-500">
             No books found matching your criteria.
@@ -389,4 +451,12 @@ const Books = () => {
   );
 };
 
+// 🔹 Build the URL of the page after `page`, or null on the last page
+const nextPageUrl = (url: string, page: BookPage): string | null => {
+  if (!page.nextCursor) return null;
+  const next = new URL(url);
+  next.searchParams.set("cursor", page.nextCursor);
+  return next.toString();
+};
+
 export default Books;
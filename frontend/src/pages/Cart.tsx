@@ -15,6 +15,7 @@ interface Book {
   quality: string;
   generatedPrice: number;
   bookImage?: string;
+  bookImageGrid?: string;
   available: boolean;
 }
 
@@ -170,7 +171,7 @@ const Cart = () => {
                           <img
                             src={
                               item.book.bookImage
-                                ? `http://localhost:8082${item.book.bookImage}`
+                                ? `http://localhost:8082${item.book.bookImageGrid ?? item.book.bookImage}`
                                 : "https://via.placeholder.com/300x400?text=No+Image"
                             }
                             alt={item.book.title}
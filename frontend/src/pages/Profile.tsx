@@ -72,6 +72,21 @@ axiosInstance.interceptors.request.use((config) => {
   return config;
 });
 
+// Every page of /api/books/user/{userId}, in listing order
+const fetchAllUserBooks = async (userId: number): Promise<BookType[]> => {
+  const books: BookType[] = [];
+  let cursor: string | null = null;
+  do {
+    const res = await axiosInstance.get<{ items: BookType[]; nextCursor: string | null }>(
+      `http://localhost:8082/api/books/user/${userId}`,
+      { params: { limit: 100, cursor: cursor ?? undefined } }
+    );
+    books.push(...res.data.items);
+    cursor = res.data.nextCursor;
+  } while (cursor);
+  return books;
+};
+
 // ----------------------
 // Profile Component
 // ----------------------
@@ -95,9 +110,9 @@ const Profile = () => {
       .then((res) => setUser(res.data))
       .catch((err) => console.error(err));
 
-    // Fetch user's books
-    axiosInstance.get<BookType[]>(`http://localhost:8082/api/books/user/${userId}`)
-      .then((res) => setUserBooks(res.data))
+    // Fetch all of the user's books (the statistics tab counts them), following the cursor
+    fetchAllUserBooks(userId)
+      .then(setUserBooks)
       .catch((err) => console.error(err))
       .finally(() => setLoading(false));
   }, []);
@@ -61,6 +61,7 @@ const UploadBook = () => {
   const [description, setDescription] = useState("");
   const [type, setType] = useState("sale");
   const [imageFile, setImageFile] = useState<File | null>(null);
+  const [location, setLocation] = useState<{ lat: number; lon: number } | null>(null);
   const [loading, setLoading] = useState(false);
 
   useEffect(() => {
@@ -84,8 +85,18 @@ const UploadBook = () => {
     }
   };
 
-  const handleGeneratedPrice = (price: number, q: string) => {
+  const handleGeneratedPrice = async (price: number, q: string) => {
     setGeneratedPrice(Math.round(calculateGeneratedPrice(price, q)));
+    if (!title || price <= 0) return;
+    // Refine with the server's suggestion, which also knows what this title has sold for
+    try {
+      const res = await axiosInstance.get("http://localhost:8082/api/books/price-suggestion", {
+        params: { title, author, edition, quality: q, originalPrice: price, type },
+      });
+      setGeneratedPrice(res.data.price);
+    } catch (err) {
+      console.error(err);
+    }
   };
 
   const handleSubmit = async () => {
@@ -104,14 +115,22 @@ const UploadBook = () => {
     formData.append("description", description);
     formData.append("type", type);
     formData.append("userId", user.id.toString());
+    if (location) {
+      formData.append("latitude", location.lat.toString());
+      formData.append("longitude", location.lon.toString());
+    }
     if (imageFile) formData.append("image", imageFile);
 
     try {
       setLoading(true);
-      await axiosInstance.post("http://localhost:8082/api/books/upload", formData, {
+      const res = await axiosInstance.post("http://localhost:8082/api/books/upload", formData, {
         headers: { "Content-Type": "multipart/form-data" },
       });
-      alert("Book listed successfully!");
+      if (res.data?.duplicateOf) {
+        alert("Book listed, but it looks like a copy of one of your existing listings.");
+      } else {
+        alert("Book listed successfully!");
+      }
       navigate("/books");
     } catch (err) {
       console.error(err);
@@ -227,6 +246,30 @@ const UploadBook = () => {
                 </div>
               </div>
 
+              {/* PICKUP LOCATION (optional, lets nearby students find the book) */}
+              <div className="space-y-2">
+                <Label>Pickup Location</Label>
+                <div className="flex items-center gap-3">
+                  <Button
+                    type="button"
+                    variant="outline"
+                    onClick={() =>
+                      navigator.geolocation?.getCurrentPosition(
+                        (pos) => setLocation({ lat: pos.coords.latitude, lon: pos.coords.longitude }),
+                        () => alert("Could not get your location.")
+                      )
+                    }
+                  >
+                    Use my current location
+                  </Button>
+                  {location && (
+                    <span className="text-sm text-muted-foreground">
+                      {location.lat.toFixed(4)}, {location.lon.toFixed(4)}
+                    </span>
+                  )}
+                </div>
+              </div>
+
               {/* DESCRIPTION */}
               <div className="space-y-2">
                 <Label>Description</Label>
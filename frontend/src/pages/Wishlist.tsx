@@ -38,6 +38,7 @@ interface Book {
   generatedPrice?: number;
   available: boolean;
   bookImage?: string;
+  bookImageGrid?: string;
   owner?: User;
 }
 
@@ -63,16 +64,28 @@ const Wishlist = () => {
     const fetchData = async () => {
       try {
         const [wishlistRes, cartRes] = await Promise.all([
-          axiosInstance.get("http://localhost:8082/api/wishlist", {
+          axiosInstance.get<number[]>("http://localhost:8082/api/wishlist/ids", {
             params: { userId: currentUser.id },
           }),
-          axiosInstance.get("http://localhost:8082/api/cart", {
+          axiosInstance.get<number[]>("http://localhost:8082/api/cart/ids", {
             params: { userId: currentUser.id },
           }),
         ]);
 
-        setWishlist(wishlistRes.data.map((it: any) => it.book));
-        setCartIds(cartRes.data.map((it: any) => it.book.id));
+        // One request per 100 wishlisted books (the batch limit), served from the book cache where possible
+        const ids = wishlistRes.data;
+        const chunks: number[][] = [];
+        for (let i = 0; i < ids.length; i += 100) {
+          chunks.push(ids.slice(i, i + 100));
+        }
+        const booksRes = await Promise.all(
+          chunks.map((chunk) =>
+            axiosInstance.post<Book[]>("http://localhost:8082/api/books/batch", chunk)
+          )
+        );
+
+        setWishlist(booksRes.flatMap((res) => res.data));
+        setCartIds(cartRes.data);
       } catch (err) {
         console.error(err);
       }
@@ -154,7 +167,7 @@ const Wishlist = () => {
                   <img
                     src={
                       book.bookImage
-                        ? `http://localhost:8082${book.bookImage}`
+                        ? `http://localhost:8082${book.bookImageGrid ?? book.bookImage}`
                         : "https://via.placeholder.com/300x400?text=No+Image"
                     }
                     alt={book.title}